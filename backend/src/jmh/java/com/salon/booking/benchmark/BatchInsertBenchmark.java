@@ -0,0 +1,94 @@
+package com.salon.booking.benchmark;
+
+import com.salon.booking.dto.BookingRequest;
+import com.salon.booking.entity.Booking;
+import com.salon.booking.service.BookingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The bulk booking endpoint's BookingService.createBookings against H2: {@code rows} bookings
+ * spread over the stylists' free slots, inserted with their stylist notification emails in one
+ * transaction, for several {@code hibernate.jdbc.batch_size} values. Ids come from the entities'
+ * pooled table generators, so batch size 1 pays one statement per row and 50 one per 50 rows.
+ * Each call books the days after the previous call's, and the bookings are deleted after each
+ * iteration. H2 runs in memory, so this measures statement overhead only; over a network each
+ * saved round trip also saves a full latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+
+    private static final int STYLISTS = 10;
+    private static final int FIRST_HOUR = 9;
+    private static final int SLOTS_PER_DAY = 8;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    @Param({"500"})
+    private int rows;
+
+    private SalonContext context;
+    private BookingService bookingService;
+    private long[] stylistIds;
+    private long[] serviceIds;
+    private long customerId;
+    private LocalDate nextDay;
+
+    @Setup
+    public void setUp() {
+        context = SalonContext.start("batch" + batchSize, Map.of(
+                "spring.jpa.properties.hibernate.jdbc.batch_size", batchSize));
+        long[][] ids = context.seed(STYLISTS, 1);
+        stylistIds = ids[0];
+        serviceIds = ids[1];
+        customerId = ids[2][0];
+        bookingService = context.bean(BookingService.class);
+        nextDay = LocalDate.now().plusDays(1);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearBookings() {
+        context.clearBookings();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Booking> createBookings() {
+        List<BookingRequest> requests = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            int stylist = i % STYLISTS;
+            int slot = i / STYLISTS;
+            requests.add(new BookingRequest(stylistIds[stylist], serviceIds[stylist],
+                    nextDay.plusDays(slot / SLOTS_PER_DAY).atTime(FIRST_HOUR + slot % SLOTS_PER_DAY, 0), null));
+        }
+        nextDay = nextDay.plusDays((rows / STYLISTS) / SLOTS_PER_DAY + 1);
+        return bookingService.createBookings(customerId, requests);
+    }
+}
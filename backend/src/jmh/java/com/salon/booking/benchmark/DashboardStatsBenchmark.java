@@ -0,0 +1,105 @@
+package com.salon.booking.benchmark;
+
+import com.salon.booking.entity.Booking;
+import com.salon.booking.entity.Feedback;
+import com.salon.booking.entity.User;
+import com.salon.booking.event.BookingEvent;
+import com.salon.booking.service.DashboardStatsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The admin dashboard stats over {@code rows} bookings, with the lists already in memory so
+ * only the counting is measured. {@code streamCounting} is the original getDashboardStats: one
+ * stream pass per counted status over every booking. {@code groupingByStatus} counts all
+ * statuses in a single pass. {@code eventCounters} is DashboardStatsService.getStats, which
+ * reads counters kept up to date by booking events and does not depend on the row count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DashboardStatsBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private List<User> stylists;
+    private List<User> customers;
+    private List<Booking> bookings;
+    private List<Feedback> feedback;
+    private DashboardStatsService dashboardStatsService;
+
+    @Setup
+    public void setUp() {
+        EntityFixtures fixtures = new EntityFixtures(50, 2_000, rows);
+        stylists = fixtures.stylists();
+        customers = fixtures.customers();
+        bookings = fixtures.bookings();
+        feedback = fixtures.feedback();
+
+        dashboardStatsService = new DashboardStatsService();
+        for (Booking booking : bookings) {
+            dashboardStatsService.onBookingEvent(BookingEvent.created(booking));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> streamCounting() {
+        long pendingBookings = bookings.stream()
+                .filter(booking -> booking.getStatus() == Booking.BookingStatus.PENDING)
+                .count();
+
+        long confirmedBookings = bookings.stream()
+                .filter(booking -> booking.getStatus() == Booking.BookingStatus.CONFIRMED)
+                .count();
+
+        return Map.of(
+                "totalStylists", stylists.size(),
+                "totalCustomers", customers.size(),
+                "totalBookings", bookings.size(),
+                "pendingBookings", pendingBookings,
+                "confirmedBookings", confirmedBookings,
+                "totalFeedback", feedback.size()
+        );
+    }
+
+    @Benchmark
+    public Map<String, Object> groupingByStatus() {
+        Map<Booking.BookingStatus, Long> byStatus = bookings.stream()
+                .collect(Collectors.groupingBy(Booking::getStatus,
+                        () -> new EnumMap<>(Booking.BookingStatus.class), Collectors.counting()));
+
+        return Map.of(
+                "totalStylists", stylists.size(),
+                "totalCustomers", customers.size(),
+                "totalBookings", bookings.size(),
+                "pendingBookings", byStatus.getOrDefault(Booking.BookingStatus.PENDING, 0L),
+                "confirmedBookings", byStatus.getOrDefault(Booking.BookingStatus.CONFIRMED, 0L),
+                "bookingsByStatus", byStatus,
+                "totalFeedback", feedback.size()
+        );
+    }
+
+    @Benchmark
+    public Map<String, Object> eventCounters() {
+        return dashboardStatsService.getStats();
+    }
+}
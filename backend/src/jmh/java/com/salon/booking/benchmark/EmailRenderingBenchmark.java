@@ -0,0 +1,82 @@
+package com.salon.booking.benchmark;
+
+import com.salon.booking.entity.Booking;
+import com.salon.booking.repository.EmailOutboxRepository;
+import com.salon.booking.service.EmailService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering of the booking notification bodies in EmailService: the String.format templates and
+ * date formatting that run inside the booking transaction. The outbox repository is a stub that
+ * only keeps the last message it was given, so nothing is persisted or sent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailRenderingBenchmark {
+
+    private EmailService emailService;
+    private Booking requested;
+    private List<Booking> confirmed;
+    private List<Booking> rejected;
+    // Written by the stub repository so the rendered messages escape
+    private Object saved;
+
+    @Setup
+    public void setUp() {
+        EmailOutboxRepository outbox = (EmailOutboxRepository) Proxy.newProxyInstance(
+                EmailOutboxRepository.class.getClassLoader(), new Class<?>[]{EmailOutboxRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("save")) {
+                        saved = args[0];
+                        return args[0];
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        emailService = new EmailService();
+        ReflectionTestUtils.setField(emailService, "outboxRepository", outbox);
+        ReflectionTestUtils.setField(emailService, "fromEmail", "salon@salon.local");
+
+        List<Booking> bookings = new EntityFixtures(5, 50, 10).bookings();
+        requested = bookings.get(0);
+        confirmed = List.of(withStatus(bookings.get(1), Booking.BookingStatus.CONFIRMED));
+        rejected = List.of(withStatus(bookings.get(2), Booking.BookingStatus.REJECTED));
+    }
+
+    @Benchmark
+    public void stylistNotification() {
+        emailService.sendBookingNotificationToStylist(requested);
+    }
+
+    @Benchmark
+    public void confirmationToCustomer() {
+        emailService.sendStatusNotificationsToCustomers(confirmed);
+    }
+
+    @Benchmark
+    public void rejectionToCustomer() {
+        emailService.sendStatusNotificationsToCustomers(rejected);
+    }
+
+    private static Booking withStatus(Booking booking, Booking.BookingStatus status) {
+        booking.setStatus(status);
+        return booking;
+    }
+}
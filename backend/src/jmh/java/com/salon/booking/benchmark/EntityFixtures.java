@@ -0,0 +1,95 @@
+package com.salon.booking.benchmark;
+
+import com.salon.booking.entity.Booking;
+import com.salon.booking.entity.Feedback;
+import com.salon.booking.entity.Service;
+import com.salon.booking.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Detached entity graphs shaped like the ones the controllers return: a few stylists with one
+ * service each, and customers whose bookings spread across the stylists and statuses. Seeded,
+ * so every fork sees the same data.
+ */
+final class EntityFixtures {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 5, 9, 0);
+    private static final Booking.BookingStatus[] STATUSES = Booking.BookingStatus.values();
+
+    private final List<User> stylists = new ArrayList<>();
+    private final List<Service> services = new ArrayList<>();
+    private final List<User> customers = new ArrayList<>();
+    private final List<Booking> bookings = new ArrayList<>();
+    private final List<Feedback> feedback = new ArrayList<>();
+
+    EntityFixtures(int stylistCount, int customerCount, int bookingCount) {
+        Random random = new Random(42);
+        long nextId = 1;
+        for (int i = 0; i < stylistCount; i++) {
+            User stylist = user(nextId++, "Stylist " + i, "stylist" + i + "@salon.local", User.Role.STYLIST);
+            stylist.setSpecialization("Cuts and colour");
+            stylists.add(stylist);
+
+            Service service = new Service("Haircut " + i, "Wash, cut and blow-dry", new BigDecimal("45.00"), 45, stylist);
+            service.setId(nextId++);
+            service.setCreatedAt(START);
+            services.add(service);
+        }
+        for (int i = 0; i < customerCount; i++) {
+            customers.add(user(nextId++, "Customer " + i, "customer" + i + "@example.com", User.Role.CUSTOMER));
+        }
+        for (int i = 0; i < bookingCount; i++) {
+            int stylist = random.nextInt(stylistCount);
+            Booking booking = new Booking(customers.get(random.nextInt(customerCount)), stylists.get(stylist),
+                    services.get(stylist), START.plusMinutes(30L * i));
+            booking.setId(nextId++);
+            booking.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            booking.setNotes(i % 3 == 0 ? "Please use the fragrance-free shampoo" : null);
+            booking.setCreatedAt(START.minusDays(1));
+            booking.setUpdatedAt(START.minusDays(1));
+            bookings.add(booking);
+
+            if (booking.getStatus() == Booking.BookingStatus.COMPLETED) {
+                Feedback review = new Feedback(booking.getCustomer(), booking.getStylist(), booking,
+                        1 + random.nextInt(5), "Lovely cut, would book again");
+                review.setId(nextId++);
+                review.setCreatedAt(booking.getBookingDateTime().plusHours(2));
+                booking.setFeedback(review);
+                feedback.add(review);
+            }
+        }
+    }
+
+    private static User user(long id, String name, String email, User.Role role) {
+        User user = new User(name, email, "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3Kj2N1r1xZtT8Y8pHqZ5r3K", role);
+        user.setId(id);
+        user.setCreatedAt(START.minusMonths(1));
+        user.setUpdatedAt(START.minusMonths(1));
+        return user;
+    }
+
+    List<User> stylists() {
+        return stylists;
+    }
+
+    List<User> customers() {
+        return customers;
+    }
+
+    List<Service> services() {
+        return services;
+    }
+
+    List<Booking> bookings() {
+        return bookings;
+    }
+
+    List<Feedback> feedback() {
+        return feedback;
+    }
+}
@@ -0,0 +1,120 @@
+package com.salon.booking.benchmark;
+
+import com.salon.booking.SalonBookingApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The application context without a web server, on an in-memory H2 database in MySQL mode
+ * (schema from the Flyway migrations) with the fake mail sender, for benchmarks that go through
+ * the real services, repositories and transactions.
+ */
+final class SalonContext implements AutoCloseable {
+
+    private static final int SERVICE_MINUTES = 60;
+
+    private final ConfigurableApplicationContext context;
+    private final JdbcTemplate jdbcTemplate;
+
+    private SalonContext(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    /** Starts a context on a fresh database; {@code overrides} win over the defaults below. */
+    static SalonContext start(String databaseName, Map<String, Object> overrides) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + databaseName
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        // H2 reports enum columns differently from MySQL, so schema validation is left to MySQL runs
+        properties.put("spring.jpa.hibernate.ddl-auto", "none");
+        // H2 rejects Connector/J's streaming fetch size
+        properties.put("salon.export.fetch-size", "1000");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("salon.mail.fake", "true");
+        properties.put("spring.mail.host", "localhost");
+        properties.put("spring.mail.username", "benchmark@salon.local");
+        properties.put("spring.mail.password", "");
+        // Keep the outbox dispatcher from competing with the measured threads
+        properties.put("salon.mail.outbox.poll-interval-ms", "3600000");
+        properties.put("logging.level.root", "WARN");
+        properties.put("spring.main.banner-mode", "off");
+        properties.putAll(overrides);
+
+        SpringApplication application = new SpringApplication(SalonBookingApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SalonContext(application.run(args));
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    JdbcTemplate jdbc() {
+        return jdbcTemplate;
+    }
+
+    /**
+     * Inserts {@code stylists} stylists with one 60-minute service each and {@code customers}
+     * customers. Returns {stylistIds, serviceIds, customerIds}, the service at each index being
+     * offered by the stylist at the same index.
+     */
+    long[][] seed(int stylists, int customers) {
+        LocalDateTime now = LocalDateTime.now();
+        long[] stylistIds = new long[stylists];
+        long[] serviceIds = new long[stylists];
+        long[] customerIds = new long[customers];
+        long id = 1;
+        for (int i = 0; i < stylists; i++) {
+            stylistIds[i] = id;
+            serviceIds[i] = i + 1;
+            insertUser(id++, "Stylist " + i, "stylist" + i + "@benchmark.local", "STYLIST", now);
+            jdbcTemplate.update("INSERT INTO services (id, name, description, price, duration_minutes, stylist_id, "
+                            + "created_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    serviceIds[i], "Haircut", "Wash, cut and blow-dry", new BigDecimal("35.00"),
+                    SERVICE_MINUTES, stylistIds[i], now);
+        }
+        for (int i = 0; i < customers; i++) {
+            customerIds[i] = id;
+            insertUser(id++, "Customer " + i, "customer" + i + "@benchmark.local", "CUSTOMER", now);
+        }
+        // Pooled ids must start above the seeded rows
+        for (String table : new String[]{"users", "services"}) {
+            jdbcTemplate.update("UPDATE id_generators SET next_val = (SELECT COALESCE(MAX(id), 0) + 51 FROM "
+                    + table + ") WHERE entity_name = ?", table);
+        }
+        return new long[][]{stylistIds, serviceIds, customerIds};
+    }
+
+    /** Removes every booking and queued email, so the next iteration starts from free calendars. */
+    void clearBookings() {
+        jdbcTemplate.update("DELETE FROM email_outbox");
+        jdbcTemplate.update("DELETE FROM feedback");
+        jdbcTemplate.update("DELETE FROM bookings");
+    }
+
+    private void insertUser(long id, String name, String email, String role, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO users (id, name, email, password, role, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", id, name, email, "benchmark", role, createdAt, createdAt);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,135 @@
+package com.salon.booking.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salon.booking.config.JacksonConfig;
+import com.salon.booking.dto.BookingSummary;
+import com.salon.booking.dto.FeedbackSummary;
+import com.salon.booking.dto.ServiceSummary;
+import com.salon.booking.entity.Booking;
+import com.salon.booking.entity.Feedback;
+import com.salon.booking.entity.Service;
+import com.salon.booking.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response bodies written with the application's ObjectMapper: Booking, Service and Feedback
+ * entity graphs (as the endpoints returned before the summary queries) against the summary
+ * records that replaced them, for a single item and a page of {@code rows}. The entities are
+ * detached and fully populated, so this is the Jackson cost alone, without lazy loading.
+ * {@code mapBookingSummaries} is the entity-to-record copy on its own; the application builds the
+ * records in JPQL, so an entity-backed endpoint converted to records would pay that on top.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "50"})
+    private int rows;
+
+    private ObjectMapper objectMapper;
+    private List<Booking> bookings;
+    private List<Service> services;
+    private List<Feedback> feedback;
+    private List<BookingSummary> bookingSummaries;
+    private List<ServiceSummary> serviceSummaries;
+    private List<FeedbackSummary> feedbackSummaries;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+        // Enough bookings that at least rows of them are completed and carry feedback
+        EntityFixtures fixtures = new EntityFixtures(Math.max(rows, 5), 200, rows * 10 + 50);
+        bookings = fixtures.bookings().subList(0, rows);
+        services = fixtures.services().subList(0, rows);
+        feedback = fixtures.feedback().subList(0, rows);
+        bookingSummaries = bookings.stream().map(SerializationBenchmark::toSummary).toList();
+        serviceSummaries = services.stream().map(SerializationBenchmark::toSummary).toList();
+        feedbackSummaries = feedback.stream().map(SerializationBenchmark::toSummary).toList();
+    }
+
+    @Benchmark
+    public byte[] bookingEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] bookingSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingSummaries);
+    }
+
+    @Benchmark
+    public List<BookingSummary> mapBookingSummaries() {
+        return bookings.stream().map(SerializationBenchmark::toSummary).toList();
+    }
+
+    @Benchmark
+    public byte[] serviceEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(services);
+    }
+
+    @Benchmark
+    public byte[] serviceSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(serviceSummaries);
+    }
+
+    @Benchmark
+    public byte[] feedbackEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(feedback);
+    }
+
+    @Benchmark
+    public byte[] feedbackSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(feedbackSummaries);
+    }
+
+    private static BookingSummary toSummary(Booking booking) {
+        return new BookingSummary(booking.getId(), serviceInfo(booking.getService()),
+                stylistInfo(booking.getStylist()), customerInfo(booking.getCustomer()),
+                booking.getBookingDateTime(), booking.getStatus(), booking.getNotes(), booking.getCreatedAt());
+    }
+
+    private static ServiceSummary toSummary(Service service) {
+        return new ServiceSummary(service.getId(), service.getName(), service.getDescription(), service.getPrice(),
+                service.getDurationMinutes(), service.getCreatedAt(), stylistInfo(service.getStylist()));
+    }
+
+    private static FeedbackSummary toSummary(Feedback feedback) {
+        Booking booking = feedback.getBooking();
+        return new FeedbackSummary(feedback.getId(), feedback.getRating(), feedback.getComment(),
+                feedback.getCreatedAt(), customerInfo(feedback.getCustomer()), stylistInfo(feedback.getStylist()),
+                new FeedbackSummary.BookingInfo(booking.getId(), booking.getBookingDateTime(), booking.getStatus(),
+                        serviceInfo(booking.getService())));
+    }
+
+    private static BookingSummary.ServiceInfo serviceInfo(Service service) {
+        return new BookingSummary.ServiceInfo(service.getId(), service.getName(), service.getDescription(),
+                service.getPrice(), service.getDurationMinutes());
+    }
+
+    private static ServiceSummary.StylistInfo stylistInfo(User stylist) {
+        return new ServiceSummary.StylistInfo(stylist.getId(), stylist.getName(), stylist.getEmail(),
+                stylist.getSpecialization());
+    }
+
+    private static BookingSummary.CustomerInfo customerInfo(User customer) {
+        return new BookingSummary.CustomerInfo(customer.getId(), customer.getName(), customer.getEmail());
+    }
+}
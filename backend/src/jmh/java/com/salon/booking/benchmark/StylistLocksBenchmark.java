@@ -0,0 +1,101 @@
+package com.salon.booking.benchmark;
+
+import com.salon.booking.dto.BookingRequest;
+import com.salon.booking.exception.BookingConflictException;
+import com.salon.booking.service.BookingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention on the booking path: 256 threads, standing in for a few hundred concurrent booking
+ * requests, call BookingService.createBooking against H2, so each call takes the stylist lock,
+ * locks the stylist's row, runs the overlap query and inserts the booking and its outbox email in
+ * one transaction. Threads beyond the 20 pooled connections wait for one, as requests would; run
+ * with -t for other thread counts. With {@code stylists=1} every thread books the same stylist.
+ * {@code lockStripes=1} puts every stylist behind one application-wide lock; the default 64
+ * stripes let different stylists book in parallel. Slots are picked at random over five years of
+ * opening hours and the bookings are deleted after each iteration, so most calls insert; a taken
+ * slot is a BookingConflictException and still counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(256)
+public class StylistLocksBenchmark {
+
+    private static final int HORIZON_DAYS = 5 * 365;
+    private static final int FIRST_HOUR = 9;
+    private static final int SLOTS_PER_DAY = 8;
+
+    @Param({"1", "16"})
+    private int stylists;
+
+    @Param({"1", "64"})
+    private int lockStripes;
+
+    private SalonContext context;
+    private BookingService bookingService;
+    private long[] stylistIds;
+    private long[] serviceIds;
+    private long[] customerIds;
+    private LocalDate firstDay;
+
+    @Setup
+    public void setUp() {
+        context = SalonContext.start("locks" + stylists + "x" + lockStripes, Map.of(
+                "salon.booking.lock-stripes", lockStripes,
+                "spring.datasource.hikari.maximum-pool-size", 20));
+        long[][] ids = context.seed(stylists, 200);
+        stylistIds = ids[0];
+        serviceIds = ids[1];
+        customerIds = ids[2];
+        bookingService = context.bean(BookingService.class);
+        firstDay = LocalDate.now().plusDays(1);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearBookings() {
+        context.clearBookings();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean createBooking() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int stylist = random.nextInt(stylists);
+        LocalDateTime start = firstDay.plusDays(random.nextInt(HORIZON_DAYS))
+                .atTime(FIRST_HOUR + random.nextInt(SLOTS_PER_DAY), 0);
+        BookingRequest request = new BookingRequest(stylistIds[stylist], serviceIds[stylist], start, null);
+        try {
+            bookingService.createBooking(customerIds[random.nextInt(customerIds.length)], request);
+            return true;
+        } catch (BookingConflictException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.salon.booking.loadtest;
+
+import org.flywaydb.core.Flyway;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Random;
+
+/**
+ * Fills a database with a salon's worth of history before the application starts, so the
+ * caches and indexes it builds at startup see the data. The schema comes from the Flyway
+ * migrations and rows are written with JDBC batches, which is what makes millions of bookings
+ * practical.
+ *
+ * <p>Ratios: one stylist per 2,000 bookings (at least 10), four services per stylist, one
+ * customer per 8 bookings (at least 50), and feedback on 60% of completed bookings. Each
+ * stylist's bookings sit on whole hours between 09:00 and 17:00 and never overlap. About 85% of
+ * them are in the past, with 70% of slots taken: 75% completed, 15% cancelled, 10% rejected.
+ * The future is 30% taken: 45% pending, 45% confirmed, 10% cancelled. That leaves free
+ * slots for the workload to book. A few customers book far more often than the rest.
+ */
+final class DataGenerator {
+
+    private static final int FIRST_HOUR = 9;
+    private static final int SLOTS_PER_DAY = 8;
+    private static final double PAST_SHARE = 0.85;
+    private static final double PAST_OCCUPANCY = 0.7;
+    private static final double FUTURE_OCCUPANCY = 0.3;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int COMMIT_EVERY = 50_000;
+
+    private static final String[] SPECIALIZATIONS = {"Cuts", "Colour", "Styling", "Barbering", "Nails"};
+    private static final String[][] SERVICES = {
+            {"Haircut", "Wash, cut and blow-dry", "35.00", "45"},
+            {"Colour", "Full head colour", "80.00", "60"},
+            {"Blow-dry", "Wash and blow-dry", "25.00", "30"},
+            {"Beard trim", "Beard shape and hot towel", "15.00", "30"},
+            {"Highlights", "Half head foils", "95.00", "60"},
+            {"Manicure", "File, shape and polish", "30.00", "45"},
+    };
+    private static final String[] NOTES = {
+            "First visit", "Please use the fragrance-free shampoo", "Running a few minutes late", "Same as last time"};
+    private static final String[] COMMENTS = {
+            "Lovely cut, would book again", "Great colour, exactly what I asked for", "A bit rushed",
+            "Friendly and on time", "Not what I expected", "Best salon in town"};
+    private static final int[] RATING_WEIGHTS = {5, 7, 13, 30, 45};
+
+    private DataGenerator() {
+    }
+
+    /** What the workload needs to address the generated rows. */
+    record GeneratedData(long[] stylists, long[][] servicesByStylist, long[] customers,
+                         long bookings, long feedback) {
+    }
+
+    /** Migrates and fills the (empty) database at {@code url}: in-memory H2 or a local MySQL. */
+    static GeneratedData generate(String url, String username, String password, int bookingCount, long seed)
+            throws SQLException {
+        Flyway.configure().dataSource(url, username, password).load().migrate();
+
+        Random random = new Random(seed);
+        int stylistCount = Math.max(10, bookingCount / 2_000);
+        int customerCount = Math.max(50, bookingCount / 8);
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+
+        try (Connection connection = DriverManager.getConnection(url, username, password)) {
+            connection.setAutoCommit(false);
+
+            long[] stylists = new long[stylistCount];
+            long[] customers = new long[customerCount];
+            try (PreparedStatement users = connection.prepareStatement(
+                    "INSERT INTO users (id, name, email, password, role, specialization, created_at, updated_at) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+                long id = 1;
+                addUser(users, id++, "Admin", "admin@loadtest.local", "ADMIN", null, now.minusYears(2));
+                for (int i = 0; i < stylistCount; i++) {
+                    stylists[i] = id;
+                    addUser(users, id++, "Stylist " + i, "stylist" + i + "@loadtest.local", "STYLIST",
+                            SPECIALIZATIONS[i % SPECIALIZATIONS.length], now.minusDays(365 + random.nextInt(365)));
+                }
+                for (int i = 0; i < customerCount; i++) {
+                    customers[i] = id;
+                    addUser(users, id++, "Customer " + i, "customer" + i + "@loadtest.local", "CUSTOMER", null,
+                            now.minusDays(random.nextInt(730)));
+                    flushEvery(users, i + 1);
+                }
+                users.executeBatch();
+            }
+
+            long[][] servicesByStylist = new long[stylistCount][4];
+            int[][] durations = new int[stylistCount][4];
+            try (PreparedStatement services = connection.prepareStatement(
+                    "INSERT INTO services (id, name, description, price, duration_minutes, stylist_id, created_at) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                long id = 1;
+                for (int s = 0; s < stylistCount; s++) {
+                    for (int k = 0; k < 4; k++) {
+                        String[] service = SERVICES[(s + k) % SERVICES.length];
+                        servicesByStylist[s][k] = id;
+                        durations[s][k] = Integer.parseInt(service[3]);
+                        services.setLong(1, id++);
+                        services.setString(2, service[0]);
+                        services.setString(3, service[1]);
+                        services.setBigDecimal(4, new BigDecimal(service[2]));
+                        services.setInt(5, durations[s][k]);
+                        services.setLong(6, stylists[s]);
+                        services.setObject(7, now.minusDays(300));
+                        services.addBatch();
+                    }
+                }
+                services.executeBatch();
+            }
+            connection.commit();
+
+            long bookingId = 1;
+            long feedbackId = 1;
+            try (PreparedStatement bookings = connection.prepareStatement(
+                    "INSERT INTO bookings (id, customer_id, stylist_id, service_id, booking_datetime, status, notes, "
+                            + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+                 PreparedStatement feedback = connection.prepareStatement(
+                         "INSERT INTO feedback (id, booking_id, customer_id, stylist_id, rating, comment, created_at) "
+                                 + "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                for (int s = 0; s < stylistCount; s++) {
+                    int quota = bookingCount / stylistCount + (s < bookingCount % stylistCount ? 1 : 0);
+                    int pastDays = (int) Math.ceil(PAST_SHARE * quota / (SLOTS_PER_DAY * PAST_OCCUPANCY));
+                    LocalDate day = today.minusDays(pastDays);
+                    int made = 0;
+                    while (made < quota) {
+                        boolean past = day.isBefore(today);
+                        for (int slot = 0; slot < SLOTS_PER_DAY && made < quota; slot++) {
+                            if (random.nextDouble() >= (past ? PAST_OCCUPANCY : FUTURE_OCCUPANCY)) {
+                                continue;
+                            }
+                            LocalDateTime at = LocalDateTime.of(day, LocalTime.of(FIRST_HOUR + slot, 0));
+                            // Squaring skews towards the low indexes: a core of regulars
+                            long customer = customers[(int) (customerCount * Math.pow(random.nextDouble(), 2))];
+                            int service = random.nextInt(4);
+                            String status = past ? pastStatus(random) : futureStatus(random);
+                            LocalDateTime createdAt = at.minusDays(1 + random.nextInt(21)).minusMinutes(random.nextInt(600));
+
+                            bookings.setLong(1, bookingId);
+                            bookings.setLong(2, customer);
+                            bookings.setLong(3, stylists[s]);
+                            bookings.setLong(4, servicesByStylist[s][service]);
+                            bookings.setObject(5, at);
+                            bookings.setString(6, status);
+                            bookings.setString(7, random.nextInt(4) == 0 ? NOTES[random.nextInt(NOTES.length)] : null);
+                            bookings.setObject(8, createdAt);
+                            bookings.setObject(9, past ? at.plusMinutes(durations[s][service]) : createdAt);
+                            bookings.addBatch();
+
+                            if ("COMPLETED".equals(status) && random.nextDouble() < 0.6) {
+                                feedback.setLong(1, feedbackId);
+                                feedback.setLong(2, bookingId);
+                                feedback.setLong(3, customer);
+                                feedback.setLong(4, stylists[s]);
+                                feedback.setInt(5, rating(random));
+                                feedback.setString(6, COMMENTS[random.nextInt(COMMENTS.length)]);
+                                feedback.setObject(7, at.plusHours(1 + random.nextInt(48)));
+                                feedback.addBatch();
+                                feedbackId++;
+                            }
+                            if (bookingId % BATCH_SIZE == 0) {
+                                // Feedback rows reference bookings, so their batch always goes after the bookings'
+                                bookings.executeBatch();
+                                feedback.executeBatch();
+                            }
+                            if (bookingId % COMMIT_EVERY == 0) {
+                                connection.commit();
+                                if (bookingId % (COMMIT_EVERY * 4L) == 0) {
+                                    System.out.println("  " + bookingId + " bookings written");
+                                }
+                            }
+                            bookingId++;
+                            made++;
+                        }
+                        day = day.plusDays(1);
+                    }
+                }
+                bookings.executeBatch();
+                feedback.executeBatch();
+            }
+
+            // Start the pooled id generators a full block above the generated ids, as V4 does
+            try (Statement statement = connection.createStatement()) {
+                for (String table : new String[]{"users", "services", "bookings", "feedback"}) {
+                    statement.executeUpdate("UPDATE id_generators SET next_val = "
+                            + "(SELECT COALESCE(MAX(id), 0) + 51 FROM " + table + ") WHERE entity_name = '" + table + "'");
+                }
+            }
+            connection.commit();
+            return new GeneratedData(stylists, servicesByStylist, customers, bookingId - 1, feedbackId - 1);
+        }
+    }
+
+    private static void addUser(PreparedStatement users, long id, String name, String email, String role,
+                                String specialization, LocalDateTime createdAt) throws SQLException {
+        users.setLong(1, id);
+        users.setString(2, name);
+        users.setString(3, email);
+        users.setString(4, "loadtest");
+        users.setString(5, role);
+        users.setString(6, specialization);
+        users.setObject(7, createdAt);
+        users.setObject(8, createdAt);
+        users.addBatch();
+    }
+
+    private static void flushEvery(PreparedStatement statement, long count) throws SQLException {
+        if (count % BATCH_SIZE == 0) {
+            statement.executeBatch();
+        }
+    }
+
+    private static String pastStatus(Random random) {
+        double r = random.nextDouble();
+        return r < 0.75 ? "COMPLETED" : r < 0.90 ? "CANCELLED" : "REJECTED";
+    }
+
+    private static String futureStatus(Random random) {
+        double r = random.nextDouble();
+        return r < 0.45 ? "PENDING" : r < 0.90 ? "CONFIRMED" : "CANCELLED";
+    }
+
+    private static int rating(Random random) {
+        int pick = random.nextInt(100);
+        for (int rating = 1; rating <= RATING_WEIGHTS.length; rating++) {
+            pick -= RATING_WEIGHTS[rating - 1];
+            if (pick < 0) {
+                return rating;
+            }
+        }
+        return RATING_WEIGHTS.length;
+    }
+}
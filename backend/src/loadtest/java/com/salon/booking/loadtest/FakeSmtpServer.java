@@ -0,0 +1,121 @@
+package com.salon.booking.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A minimal SMTP server on a random loopback port, so the application's JavaMailSender talks
+ * real SMTP to it. It speaks just enough of the protocol for Jakarta Mail without AUTH or
+ * STARTTLS. Each message is held for {@code latency} before it is accepted, and a
+ * {@code failureRate} fraction is refused with a transient 451 so the outbox retries it.
+ * Message contents are discarded and only counted.
+ */
+final class FakeSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final Duration latency;
+    private final double failureRate;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder refused = new LongAdder();
+
+    private FakeSmtpServer(Duration latency, double failureRate) throws IOException {
+        this.serverSocket = new ServerSocket(0, 200, InetAddress.getLoopbackAddress());
+        this.latency = latency;
+        this.failureRate = failureRate;
+    }
+
+    static FakeSmtpServer start(Duration latency, double failureRate) throws IOException {
+        FakeSmtpServer server = new FakeSmtpServer(latency, failureRate);
+        Thread.ofPlatform().daemon().name("fake-smtp-accept").start(server::acceptLoop);
+        return server;
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    long accepted() {
+        return accepted.sum();
+    }
+
+    long refused() {
+        return refused.sum();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread.ofVirtual().name("fake-smtp").start(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Fake SMTP accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 localhost fake SMTP ready");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-localhost\r\n250 8BITMIME");
+                    case "HELO", "MAIL", "RCPT", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        // The body is discarded; a lone "." ends it (dot-stuffed lines start with "..")
+                        do {
+                            line = in.readLine();
+                        } while (line != null && !line.equals("."));
+                        reply(out, deliver());
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // The client hung up mid-conversation; nothing to clean up
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String deliver() throws InterruptedException {
+        if (!latency.isZero()) {
+            Thread.sleep(latency);
+        }
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            refused.increment();
+            return "451 4.3.0 Simulated transient failure";
+        }
+        accepted.increment();
+        return "250 OK queued";
+    }
+
+    private static void reply(OutputStream out, String response) throws IOException {
+        out.write((response + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+}
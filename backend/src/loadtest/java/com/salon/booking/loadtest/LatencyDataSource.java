@@ -0,0 +1,53 @@
+package com.salon.booking.loadtest;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Adds a fixed delay to every statement execution, commit and rollback, standing in for the
+ * network round trip to MySQL that an in-memory H2 database does not have. Requests then block
+ * on "I/O" the way they do in production, which is what the thread-mode comparison is about.
+ */
+final class LatencyDataSource {
+
+    private static final Set<String> ROUND_TRIPS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch",
+            "executeLargeBatch", "commit", "rollback");
+
+    private LatencyDataSource() {
+    }
+
+    static DataSource wrap(DataSource dataSource, Duration latency) {
+        return proxy(DataSource.class, dataSource, latency);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Duration latency) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (ROUND_TRIPS.contains(method.getName())) {
+                Thread.sleep(latency);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            // Statements are reached through connections, so both are wrapped on the way out
+            if (result instanceof Connection connection && method.getReturnType() == Connection.class) {
+                return proxy(Connection.class, connection, latency);
+            }
+            if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return proxy((Class<Statement>) method.getReturnType(), (Statement) result, latency);
+            }
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(LatencyDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
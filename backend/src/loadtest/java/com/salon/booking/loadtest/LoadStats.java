@@ -0,0 +1,63 @@
+package com.salon.booking.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request latencies of one load run. Each client thread records into its own {@link Recorder}, so
+ * recording never contends; the recorders are merged once the run is over.
+ */
+final class LoadStats {
+
+    private final ConcurrentLinkedQueue<Recorder> recorders = new ConcurrentLinkedQueue<>();
+    private final LongAdder errors = new LongAdder();
+
+    Recorder recorder() {
+        Recorder recorder = new Recorder();
+        recorders.add(recorder);
+        return recorder;
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    Summary summarize(double seconds) {
+        int total = recorders.stream().mapToInt(recorder -> recorder.count).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (Recorder recorder : recorders) {
+            System.arraycopy(recorder.nanos, 0, all, offset, recorder.count);
+            offset += recorder.count;
+        }
+        Arrays.sort(all);
+        return new Summary(total, errors.sum(), total / seconds,
+                percentileMillis(all, 0.50), percentileMillis(all, 0.99),
+                total == 0 ? 0 : all[total - 1] / 1_000_000.0);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    static final class Recorder {
+        private long[] nanos = new long[1024];
+        private int count;
+
+        void record(long elapsedNanos) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = elapsedNanos;
+        }
+    }
+
+    record Summary(long requests, long errors, double throughput, double p50Millis, double p99Millis,
+                   double maxMillis) {
+    }
+}
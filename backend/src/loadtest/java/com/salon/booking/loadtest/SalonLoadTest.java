@@ -0,0 +1,340 @@
+package com.salon.booking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end load test of the customer, stylist and admin APIs. A synthetic salon is generated
+ * into H2 (see {@link DataGenerator}), the application is started on it with mail going to an
+ * in-process {@link FakeSmtpServer}, and N clients then run a weighted mix of sessions:
+ * customers browse services, stylists and availability, book slots and leave feedback; stylists
+ * confirm or reject pending requests and complete confirmed ones; admins read the dashboard,
+ * listings and exports. Throughput and p50/p99 latency are printed per endpoint.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.main=com.salon.booking.loadtest.SalonLoadTest \
+ *     -Dloadtest.args="--bookings 1000000 --clients 100 --duration-seconds 120"
+ * </pre>
+ *
+ * Options: --bookings (100000), --clients (50), --duration-seconds (60), --warmup-seconds (10),
+ * --db-latency-ms (0), --pool-size (20), --smtp-latency-ms (20), --smtp-failure-rate (0.0),
+ * --seed (42), --virtual-threads (false), and --jdbc-url, --db-username, --db-password to run
+ * against an empty local MySQL schema instead of H2 (add rewriteBatchedStatements=true to the
+ * URL so generation is batched). H2 keeps everything on the heap and plans some of the paged
+ * queries poorly, so past a few hundred thousand bookings MySQL gives the more faithful numbers.
+ *
+ * <p>Booking conflicts and races over the same pending request come back as 4xx. They are
+ * expected under this mix, so they are counted separately and their latency is still recorded.
+ * Errors are 5xx responses and failed requests.
+ */
+public final class SalonLoadTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int OPEN_HOUR = 9;
+    private static final int LAST_START_HOUR = 16;
+    private static final int BOOKING_HORIZON_DAYS = 60;
+    private static final int MAX_QUEUED = 10_000;
+
+    private final String baseUrl;
+    private final DataGenerator.GeneratedData data;
+    private final HttpClient http;
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    // Bookings moved along by the workload itself: confirmed ones await completion, completed ones feedback
+    private final Queue<long[]> confirmed = new ConcurrentLinkedQueue<>();
+    private final Queue<long[]> completed = new ConcurrentLinkedQueue<>();
+    private volatile long measureFrom;
+
+    private SalonLoadTest(String baseUrl, DataGenerator.GeneratedData data, HttpClient http) {
+        this.baseUrl = baseUrl;
+        this.data = data;
+        this.http = http;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int bookings = Integer.parseInt(options.getOrDefault("bookings", "100000"));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "50"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration-seconds", "60")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-seconds", "10")));
+        Duration dbLatency = Duration.ofMillis(Long.parseLong(options.getOrDefault("db-latency-ms", "0")));
+        Duration smtpLatency = Duration.ofMillis(Long.parseLong(options.getOrDefault("smtp-latency-ms", "20")));
+        double smtpFailureRate = Double.parseDouble(options.getOrDefault("smtp-failure-rate", "0.0"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+        String databaseName = "salon_load";
+        String jdbcUrl = options.getOrDefault("jdbc-url", SalonServer.jdbcUrl(databaseName));
+        boolean mysql = jdbcUrl.startsWith("jdbc:mysql:");
+        String dbUsername = options.getOrDefault("db-username", mysql ? "root" : "sa");
+        String dbPassword = options.getOrDefault("db-password", "");
+
+        System.out.println("Generating " + bookings + " bookings into " + jdbcUrl);
+        long generationStart = System.nanoTime();
+        DataGenerator.GeneratedData data = DataGenerator.generate(jdbcUrl, dbUsername, dbPassword, bookings, seed);
+        System.out.printf("Generated %d stylists, %d customers, %d bookings and %d feedback in %.1f s%n",
+                data.stylists().length, data.customers().length, data.bookings(), data.feedback(),
+                (System.nanoTime() - generationStart) / 1e9);
+
+        try (FakeSmtpServer smtp = FakeSmtpServer.start(smtpLatency, smtpFailureRate)) {
+            Map<String, Object> overrides = new HashMap<>();
+            overrides.put("salon.mail.fake", "false");
+            overrides.put("spring.mail.port", String.valueOf(smtp.port()));
+            overrides.put("spring.mail.properties.mail.smtp.auth", "false");
+            overrides.put("spring.mail.properties.mail.smtp.starttls.enable", "false");
+            overrides.put("spring.datasource.hikari.maximum-pool-size", options.getOrDefault("pool-size", "20"));
+            overrides.put("salon.threads.virtual", options.getOrDefault("virtual-threads", "false"));
+            // The outbox retries refused messages; keep the backoff short enough to see within a run
+            overrides.put("salon.mail.outbox.initial-backoff-ms", "1000");
+            if (mysql) {
+                overrides.put("spring.datasource.url", jdbcUrl);
+                overrides.put("spring.datasource.username", dbUsername);
+                overrides.put("spring.datasource.password", dbPassword);
+                overrides.put("spring.datasource.driver-class-name", "com.mysql.cj.jdbc.Driver");
+                overrides.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.MySQLDialect");
+            }
+
+            try (SalonServer server = SalonServer.start(databaseName, dbLatency, overrides);
+                 HttpClient http = HttpClient.newBuilder()
+                         .version(HttpClient.Version.HTTP_1_1)
+                         .connectTimeout(Duration.ofSeconds(30))
+                         .executor(Executors.newVirtualThreadPerTaskExecutor())
+                         .build()) {
+                System.out.println("Running " + clients + " clients for " + warmup.toSeconds() + " s warmup + "
+                        + duration.toSeconds() + " s");
+                SalonLoadTest test = new SalonLoadTest(server.baseUrl(), data, http);
+                test.run(clients, warmup, duration);
+                test.report(duration);
+                System.out.printf("SMTP: %d messages accepted, %d refused (latency %d ms, failure rate %.2f)%n",
+                        smtp.accepted(), smtp.refused(), smtpLatency.toMillis(), smtpFailureRate);
+            }
+        }
+    }
+
+    private void run(int clients, Duration warmup, Duration duration) {
+        measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                workers.execute(() -> {
+                    Map<String, LoadStats.Recorder> recorders = new HashMap<>();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < stopAt) {
+                        session(recorders, random);
+                    }
+                });
+            }
+        }
+    }
+
+    // Weights are per hundred sessions: mostly customers browsing, then their own bookings, stylists and admins
+    private void session(Map<String, LoadStats.Recorder> recorders, ThreadLocalRandom random) {
+        int pick = random.nextInt(100);
+        long customer = data.customers()[random.nextInt(data.customers().length)];
+        int stylistIndex = random.nextInt(data.stylists().length);
+        long stylist = data.stylists()[stylistIndex];
+        long service = data.servicesByStylist()[stylistIndex][random.nextInt(data.servicesByStylist()[stylistIndex].length)];
+        LocalDate date = LocalDate.now().plusDays(1 + random.nextInt(BOOKING_HORIZON_DAYS));
+
+        if (pick < 40) {
+            browse(recorders, random, stylist, service, date);
+        } else if (pick < 52) {
+            book(recorders, random, customer, stylist, service, date);
+        } else if (pick < 64) {
+            switch (random.nextInt(4)) {
+                case 0 -> get(recorders, "GET /customer/bookings/{customerId}", "/customer/bookings/" + customer);
+                case 1 -> get(recorders, "GET /customer/bookings/history/{customerId}", "/customer/bookings/history/" + customer);
+                case 2 -> get(recorders, "GET /customer/feedback/{customerId}", "/customer/feedback/" + customer);
+                default -> get(recorders, "GET /customer/{customerId}/dashboard", "/customer/" + customer + "/dashboard");
+            }
+        } else if (pick < 72) {
+            decidePending(recorders, random, stylist);
+        } else if (pick < 76) {
+            complete(recorders);
+        } else if (pick < 79) {
+            leaveFeedback(recorders, random);
+        } else if (pick < 92) {
+            switch (random.nextInt(6)) {
+                case 0 -> get(recorders, "GET /stylist/bookings/{stylistId}", "/stylist/bookings/" + stylist);
+                case 1 -> get(recorders, "GET /stylist/{stylistId}/dashboard", "/stylist/" + stylist + "/dashboard");
+                case 2 -> get(recorders, "GET /stylist/customers/{stylistId}", "/stylist/customers/" + stylist);
+                case 3 -> get(recorders, "GET /stylist/feedback/{stylistId}", "/stylist/feedback/" + stylist);
+                case 4 -> get(recorders, "GET /stylist/services/{stylistId}", "/stylist/services/" + stylist);
+                default -> get(recorders, "GET /stylist/profile/{stylistId}", "/stylist/profile/" + stylist);
+            }
+        } else {
+            switch (random.nextInt(8)) {
+                case 0, 1 -> get(recorders, "GET /admin/dashboard/stats", "/admin/dashboard/stats");
+                case 2 -> get(recorders, "GET /admin/dashboard", "/admin/dashboard");
+                case 3 -> get(recorders, "GET /admin/bookings", "/admin/bookings?status=PENDING");
+                case 4 -> get(recorders, "GET /admin/feedback", "/admin/feedback?maxRating=2");
+                case 5 -> get(recorders, "GET /admin/users", "/admin/users?role=CUSTOMER");
+                case 6 -> get(recorders, "GET /admin/stylists", "/admin/stylists");
+                default -> get(recorders, "GET /admin/export/bookings",
+                        "/admin/export/bookings?from=" + LocalDate.now().atStartOfDay()
+                                + "&to=" + LocalDate.now().plusDays(7).atStartOfDay());
+            }
+        }
+    }
+
+    private void browse(Map<String, LoadStats.Recorder> recorders, ThreadLocalRandom random, long stylist,
+                        long service, LocalDate date) {
+        switch (random.nextInt(8)) {
+            case 0, 1 -> get(recorders, "GET /customer/services", "/customer/services");
+            case 2 -> get(recorders, "GET /customer/stylists", "/customer/stylists");
+            case 3 -> get(recorders, "GET /customer/services/stylist/{stylistId}", "/customer/services/stylist/" + stylist);
+            case 4 -> get(recorders, "GET /customer/services/search", "/customer/services/search?q="
+                    + new String[]{"cut", "colour", "blow", "beard", "highlights", "manicure"}[random.nextInt(6)]);
+            case 5 -> get(recorders, "GET /customer/stylists/{stylistId}/availability",
+                    "/customer/stylists/" + stylist + "/availability?serviceId=" + service + "&from=" + date);
+            case 6 -> get(recorders, "GET /customer/availability/earliest", "/customer/availability/earliest?service="
+                    + new String[]{"Haircut", "Colour", "Blow-dry", "Highlights"}[random.nextInt(4)] + "&from=" + date);
+            default -> get(recorders, "GET /customer/stylist/{stylistId}/rating", "/customer/stylist/" + stylist + "/rating");
+        }
+    }
+
+    private void book(Map<String, LoadStats.Recorder> recorders, ThreadLocalRandom random, long customer,
+                      long stylist, long service, LocalDate date) {
+        LocalDateTime at = LocalDateTime.of(date, LocalTime.of(OPEN_HOUR + random.nextInt(LAST_START_HOUR - OPEN_HOUR + 1), 0));
+        send(recorders, "POST /customer/bookings/{customerId}", "POST", "/customer/bookings/" + customer,
+                Map.of("stylistId", stylist, "serviceId", service, "bookingDateTime", at.toString()));
+    }
+
+    // The stylist reads their pending requests and answers one, as the dashboard does
+    private void decidePending(Map<String, LoadStats.Recorder> recorders, ThreadLocalRandom random, long stylist) {
+        JsonNode pending = get(recorders, "GET /stylist/bookings/pending/{stylistId}", "/stylist/bookings/pending/" + stylist);
+        if (pending == null || !pending.isArray() || pending.isEmpty()) {
+            return;
+        }
+        JsonNode booking = pending.get(random.nextInt(pending.size()));
+        long bookingId = booking.get("id").asLong();
+        boolean accept = random.nextInt(10) < 8;
+        JsonNode result = send(recorders, "PUT /stylist/bookings/{bookingId}/status", "PUT",
+                "/stylist/bookings/" + bookingId + "/status", Map.of("status", accept ? "CONFIRMED" : "REJECTED"));
+        if (accept && result != null && confirmed.size() < MAX_QUEUED) {
+            confirmed.add(new long[]{bookingId, booking.get("customer").get("id").asLong()});
+        }
+    }
+
+    private void complete(Map<String, LoadStats.Recorder> recorders) {
+        long[] booking = confirmed.poll();
+        if (booking == null) {
+            return;
+        }
+        JsonNode result = send(recorders, "PUT /stylist/bookings/{bookingId}/status", "PUT",
+                "/stylist/bookings/" + booking[0] + "/status", Map.of("status", "COMPLETED"));
+        if (result != null && completed.size() < MAX_QUEUED) {
+            completed.add(booking);
+        }
+    }
+
+    private void leaveFeedback(Map<String, LoadStats.Recorder> recorders, ThreadLocalRandom random) {
+        long[] booking = completed.poll();
+        if (booking == null) {
+            return;
+        }
+        send(recorders, "POST /customer/feedback/{customerId}", "POST", "/customer/feedback/" + booking[1],
+                Map.of("bookingId", booking[0], "rating", 1 + random.nextInt(5), "comment", "Load test visit"));
+    }
+
+    private JsonNode get(Map<String, LoadStats.Recorder> recorders, String endpoint, String path) {
+        return call(recorders, endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET());
+    }
+
+    private JsonNode send(Map<String, LoadStats.Recorder> recorders, String endpoint, String method, String path,
+                          Map<String, ?> body) {
+        try {
+            return call(recorders, endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body))));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Records the request under {@code endpoint} and returns the parsed body of a 2xx JSON response, else null. */
+    private JsonNode call(Map<String, LoadStats.Recorder> recorders, String endpoint, HttpRequest.Builder request) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = http.send(request.timeout(Duration.ofSeconds(60)).build(), HttpResponse.BodyHandlers.ofString());
+        } catch (Exception e) {
+            response = null;
+        }
+        long elapsed = System.nanoTime() - start;
+        boolean measured = start >= measureFrom;
+        if (response == null || response.statusCode() >= 500) {
+            if (measured) {
+                stats.latencies.error();
+            }
+            return null;
+        }
+        if (measured) {
+            recorders.computeIfAbsent(endpoint, name -> stats.latencies.recorder()).record(elapsed);
+            if (response.statusCode() >= 400) {
+                stats.clientErrors.increment();
+            }
+        }
+        if (response.statusCode() >= 300) {
+            return null;
+        }
+        String contentType = response.headers().firstValue("Content-Type").orElse("");
+        try {
+            return contentType.startsWith("application/json") ? JSON.readTree(response.body()) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private void report(Duration duration) {
+        double seconds = duration.toNanos() / 1e9;
+        System.out.println();
+        System.out.printf("%-52s %9s %7s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "4xx", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        long requests = 0;
+        long errors = 0;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            LoadStats.Summary summary = entry.getValue().latencies.summarize(seconds);
+            requests += summary.requests();
+            errors += summary.errors();
+            System.out.printf("%-52s %9d %7d %7d %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey(), summary.requests(), entry.getValue().clientErrors.sum(), summary.errors(),
+                    summary.throughput(), summary.p50Millis(), summary.p99Millis(), summary.maxMillis());
+        }
+        System.out.printf("%-52s %9d %7s %7d %9.1f%n", "total", requests, "", errors, requests / seconds);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an --option, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static final class Endpoint {
+        private final LoadStats latencies = new LoadStats();
+        private final LongAdder clientErrors = new LongAdder();
+    }
+}
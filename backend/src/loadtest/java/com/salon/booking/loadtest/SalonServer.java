@@ -0,0 +1,88 @@
+package com.salon.booking.loadtest;
+
+import com.salon.booking.SalonBookingApplication;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The application started in-process on a random port, backed by an in-memory H2 database in
+ * MySQL mode (schema from the Flyway migrations) and the fake mail sender.
+ */
+final class SalonServer implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final String baseUrl;
+
+    private SalonServer(ConfigurableApplicationContext context) {
+        this.context = context;
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        this.baseUrl = "http://localhost:" + port + "/api";
+    }
+
+    /**
+     * Starts a server whose database calls each take at least {@code dbLatency}. Everything is
+     * passed as command-line arguments so it wins over application.properties; {@code overrides}
+     * win over the defaults below.
+     */
+    static SalonServer start(String databaseName, Duration dbLatency, Map<String, Object> overrides) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", jdbcUrl(databaseName));
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        // H2 reports enum columns differently from MySQL, so schema validation is left to MySQL runs
+        properties.put("spring.jpa.hibernate.ddl-auto", "none");
+        // H2 rejects Connector/J's streaming fetch size
+        properties.put("salon.export.fetch-size", "1000");
+        properties.put("server.port", "0");
+        properties.put("salon.mail.fake", "true");
+        properties.put("spring.mail.host", "localhost");
+        properties.put("spring.mail.username", "loadtest@salon.local");
+        properties.put("spring.mail.password", "");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(overrides);
+
+        SpringApplication application = new SpringApplication(SalonBookingApplication.class);
+        if (!dbLatency.isZero()) {
+            application.addInitializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? LatencyDataSource.wrap(dataSource, dbLatency) : bean;
+                }
+            }));
+        }
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SalonServer(application.run(args));
+    }
+
+    // Kept open until the JVM exits, so data written before start() is still there for the app
+    static String jdbcUrl(String databaseName) {
+        return "jdbc:h2:mem:" + databaseName
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE";
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,241 @@
+package com.salon.booking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Platform vs virtual request threads under blocking database I/O. For each mode the application
+ * is started against H2 with an injected per-statement latency, seeded over HTTP, and then driven
+ * by N concurrent keep-alive clients issuing database-backed reads; throughput and latency
+ * percentiles are printed per mode and connection count.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--connections 1000,5000,10000 --duration-seconds 30"
+ * </pre>
+ *
+ * Options: --connections, --duration-seconds (20), --warmup-seconds (5), --db-latency-ms (2),
+ * --pool-size (50), --modes (platform,virtual), --stylists (20), --customers (200),
+ * --bookings-per-customer (5).
+ */
+public final class ThreadModeBenchmark {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int SLOTS_PER_DAY = 18;
+
+    private ThreadModeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        List<Integer> connectionLevels = Arrays.stream(options.getOrDefault("connections", "1000,5000,10000").split(","))
+                .map(String::trim).map(Integer::parseInt).toList();
+        List<String> modes = Arrays.asList(options.getOrDefault("modes", "platform,virtual").split(","));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration-seconds", "20")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-seconds", "5")));
+        Duration dbLatency = Duration.ofMillis(Long.parseLong(options.getOrDefault("db-latency-ms", "2")));
+        int poolSize = Integer.parseInt(options.getOrDefault("pool-size", "50"));
+        int stylists = Integer.parseInt(options.getOrDefault("stylists", "20"));
+        int customers = Integer.parseInt(options.getOrDefault("customers", "200"));
+        int bookingsPerCustomer = Integer.parseInt(options.getOrDefault("bookings-per-customer", "5"));
+
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-9s %11s %10s %8s %10s %9s %9s %9s",
+                "mode", "connections", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms"));
+        for (String mode : modes) {
+            Map<String, Object> overrides = new HashMap<>();
+            overrides.put("salon.threads.virtual", String.valueOf("virtual".equals(mode.trim())));
+            overrides.put("spring.datasource.hikari.maximum-pool-size", String.valueOf(poolSize));
+            overrides.put("server.tomcat.max-connections", "20000");
+            overrides.put("server.tomcat.accept-count", "10000");
+
+            try (SalonServer server = SalonServer.start("threadmode_" + mode.trim(), dbLatency, overrides)) {
+                System.out.println("[" + mode + "] seeding " + stylists + " stylists, " + customers
+                        + " customers, " + customers * bookingsPerCustomer + " bookings");
+                Dataset dataset = seed(server.baseUrl(), stylists, customers, bookingsPerCustomer);
+                for (int connections : connectionLevels) {
+                    System.out.println("[" + mode + "] " + connections + " connections");
+                    LoadStats.Summary summary = run(server.baseUrl(), dataset, connections, warmup, duration);
+                    report.add(String.format("%-9s %11d %10d %8d %10.0f %9.1f %9.1f %9.1f",
+                            mode, connections, summary.requests(), summary.errors(), summary.throughput(),
+                            summary.p50Millis(), summary.p99Millis(), summary.maxMillis()));
+                }
+            }
+        }
+        System.out.println();
+        System.out.println("db latency " + dbLatency.toMillis() + " ms/statement, pool " + poolSize
+                + ", " + duration.toSeconds() + " s measured after " + warmup.toSeconds() + " s warmup");
+        report.forEach(System.out::println);
+    }
+
+    private static LoadStats.Summary run(String baseUrl, Dataset dataset, int connections,
+                                         Duration warmup, Duration duration) throws Exception {
+        LoadStats stats = new LoadStats();
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+        // Declared first so it is closed last, once every client has finished
+        try (HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                clients.execute(() -> {
+                    LoadStats.Recorder recorder = stats.recorder();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (true) {
+                        long start = System.nanoTime();
+                        if (start >= stopAt) {
+                            return;
+                        }
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + dataset.randomRead(random)))
+                                .timeout(Duration.ofSeconds(60))
+                                .GET()
+                                .build();
+                        boolean ok;
+                        try {
+                            ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        if (start >= measureFrom) {
+                            if (ok) {
+                                recorder.record(System.nanoTime() - start);
+                            } else {
+                                stats.error();
+                            }
+                        }
+                    }
+                });
+            }
+        }
+        return stats.summarize(duration.toNanos() / 1e9);
+    }
+
+    private static Dataset seed(String baseUrl, int stylistCount, int customerCount, int bookingsPerCustomer)
+            throws Exception {
+        try (HttpClient http = HttpClient.newHttpClient();
+             ExecutorService workers = Executors.newFixedThreadPool(16)) {
+            List<Future<Long>> stylistIds = new ArrayList<>();
+            for (int i = 0; i < stylistCount; i++) {
+                int n = i;
+                stylistIds.add(workers.submit(() -> signup(http, baseUrl, "Stylist " + n, "stylist" + n, "STYLIST")));
+            }
+            List<Future<Long>> customerIds = new ArrayList<>();
+            for (int i = 0; i < customerCount; i++) {
+                int n = i;
+                customerIds.add(workers.submit(() -> signup(http, baseUrl, "Customer " + n, "customer" + n, "CUSTOMER")));
+            }
+            long[] stylists = join(stylistIds);
+            long[] customers = join(customerIds);
+
+            List<Future<Long>> serviceIds = new ArrayList<>();
+            for (long stylistId : stylists) {
+                serviceIds.add(workers.submit(() -> post(http, baseUrl + "/stylist/services/" + stylistId,
+                        Map.of("name", "Haircut", "description", "Cut and style", "price", 30, "durationMinutes", 30))
+                        .get("id").asLong()));
+            }
+            long[] services = join(serviceIds);
+
+            // Every stylist's bookings fill consecutive half-hour slots from tomorrow, so none overlap
+            AtomicInteger[] nextSlot = new AtomicInteger[stylists.length];
+            Arrays.setAll(nextSlot, i -> new AtomicInteger());
+            LocalDate firstDay = LocalDate.now().plusDays(1);
+            List<Future<Long>> bookings = new ArrayList<>();
+            for (int c = 0; c < customers.length; c++) {
+                for (int b = 0; b < bookingsPerCustomer; b++) {
+                    int stylist = (c + b) % stylists.length;
+                    long customerId = customers[c];
+                    bookings.add(workers.submit(() -> {
+                        int slot = nextSlot[stylist].getAndIncrement();
+                        LocalDateTime at = LocalDateTime.of(firstDay.plusDays(slot / SLOTS_PER_DAY),
+                                LocalTime.of(9, 0).plusMinutes(30L * (slot % SLOTS_PER_DAY)));
+                        return post(http, baseUrl + "/customer/bookings/" + customerId, Map.of(
+                                "stylistId", stylists[stylist], "serviceId", services[stylist],
+                                "bookingDateTime", at.toString())).get("id").asLong();
+                    }));
+                }
+            }
+            join(bookings);
+            return new Dataset(stylists, customers);
+        }
+    }
+
+    private static long signup(HttpClient http, String baseUrl, String name, String handle, String role)
+            throws Exception {
+        Map<String, Object> body = new HashMap<>();
+        body.put("name", name);
+        body.put("email", handle + "@loadtest.local");
+        body.put("password", "loadtest");
+        body.put("role", role);
+        if ("STYLIST".equals(role)) {
+            body.put("specialization", "Cuts");
+        }
+        return post(http, baseUrl + "/auth/signup", body).get("id").asLong();
+    }
+
+    private static JsonNode post(HttpClient http, String url, Map<String, ?> body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body)))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("POST " + url + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return JSON.readTree(response.body());
+    }
+
+    private static long[] join(List<Future<Long>> futures) throws Exception {
+        long[] values = new long[futures.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = futures.get(i).get();
+        }
+        return values;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected an --option, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    // The reads each hit the database with no cache in front, so every request blocks on "I/O"
+    private record Dataset(long[] stylists, long[] customers) {
+
+        String randomRead(ThreadLocalRandom random) {
+            long customer = customers[random.nextInt(customers.length)];
+            long stylist = stylists[random.nextInt(stylists.length)];
+            return switch (random.nextInt(4)) {
+                case 0 -> "/customer/bookings/history/" + customer;
+                case 1 -> "/stylist/customers/" + stylist;
+                case 2 -> "/stylist/bookings/pending/" + stylist;
+                default -> "/customer/feedback/" + customer;
+            };
+        }
+    }
+}
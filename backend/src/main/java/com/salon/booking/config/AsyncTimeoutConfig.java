@@ -0,0 +1,46 @@
+package com.salon.booking.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Async request handling. Async responses (StreamingResponseBody) run on the bounded
+ * exportTaskExecutor and keep the default timeout unless their handler sets
+ * {@link #TIMEOUT_ATTRIBUTE} to a timeout in milliseconds, which is applied just before the async
+ * request starts.
+ */
+@Configuration
+public class AsyncTimeoutConfig implements WebMvcConfigurer {
+
+    public static final String TIMEOUT_ATTRIBUTE = AsyncTimeoutConfig.class.getName() + ".timeout";
+
+    // ExecutorConfig's executors keep Boot from defining applicationTaskExecutor, which would
+    // otherwise leave MVC on a new unbounded thread per async request
+    @Autowired
+    @Qualifier("exportTaskExecutor")
+    private AsyncTaskExecutor exportTaskExecutor;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(exportTaskExecutor);
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                Object timeout = request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+                if (timeout instanceof Long millis && request instanceof AsyncWebRequest asyncRequest) {
+                    asyncRequest.setTimeout(millis);
+                }
+            }
+        });
+    }
+}
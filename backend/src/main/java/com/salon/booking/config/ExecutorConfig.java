@@ -0,0 +1,92 @@
+package com.salon.booking.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ExecutorConfig {
+
+    // With salon.threads.virtual the blocking executors below run virtual threads; their pool
+    // sizes and queues still bound how much work (and how many connections) they take on
+    @Value("${salon.threads.virtual:false}")
+    private boolean virtualThreads;
+
+    // CPU-bound fan-out over in-memory stylist calendars
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService availabilitySearchExecutor() {
+        return new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    // Blocking SMTP calls for the email outbox; the bounded queue caps how much is claimed at once.
+    // Stays on platform threads: Jakarta Mail's SMTPTransport sends inside synchronized methods,
+    // which would pin a virtual thread's carrier for the whole SMTP exchange.
+    // EmailOutboxDispatcher.stop() stops queuing deliveries and gives the queued ones a bounded
+    // time to finish before this is shut down
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor emailDeliveryExecutor(
+            @Value("${salon.mail.outbox.workers:4}") int workers,
+            @Value("${salon.mail.outbox.queue-capacity:100}") int queueCapacity) {
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("email-delivery-"));
+    }
+
+    // Loads booking changes and queues them on the server-sent event streams; one thread keeps
+    // them in commit order. It never writes to a socket, so slow clients cannot stall it.
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor sseDispatchExecutor(
+            @Value("${salon.sse.dispatch-queue-capacity:1000}") int queueCapacity) {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory("sse-dispatch-"));
+    }
+
+    // Drains server-sent event streams; a stream has at most one drain task queued or running,
+    // so the queue is bounded by the number of open streams
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor sseWriteExecutor(@Value("${salon.sse.writers:4}") int writers) {
+        return new ThreadPoolExecutor(writers, writers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory("sse-write-"));
+    }
+
+    // Parallel reads behind the dashboard endpoints; kept below the connection pool size so
+    // dashboards cannot take every connection, and a full queue runs the part on the caller
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor dashboardExecutor(
+            @Value("${salon.dashboard.workers:6}") int workers,
+            @Value("${salon.dashboard.queue-capacity:100}") int queueCapacity) {
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory("dashboard-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // Async MVC work, i.e. the StreamingResponseBody exports (set on MVC by AsyncTimeoutConfig).
+    // Each export holds a connection until its last row is written, so only a few run at once and
+    // the rest wait in the queue; a full queue rejects the export rather than starting a thread
+    @Bean
+    public ThreadPoolTaskExecutor exportTaskExecutor(
+            @Value("${salon.export.workers:4}") int workers,
+            @Value("${salon.export.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadFactory(threadFactory("export-"));
+        return executor;
+    }
+
+    private ThreadFactory threadFactory(String namePrefix) {
+        return virtualThreads
+                ? Thread.ofVirtual().name(namePrefix, 1).factory()
+                : new CustomizableThreadFactory(namePrefix);
+    }
+}
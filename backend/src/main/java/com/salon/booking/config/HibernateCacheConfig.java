@@ -0,0 +1,78 @@
+package com.salon.booking.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Regions of the Hibernate second-level cache, backed by Caffeine through JCache. Every region
+ * is declared here with its own size limit; Hibernate refuses to start if an entity or query
+ * asks for one that is missing (missing_cache_strategy=fail).
+ *
+ * <p>The cache lives in each node's heap and only that node's writes invalidate it: a user,
+ * service or stylist list changed through another node stays stale here until the entry
+ * expires. Entries therefore expire after {@code salon.l2cache.expire-seconds} (a minute by
+ * default), which bounds that staleness when several nodes run; a single node can raise it.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String USERS_REGION = "users";
+    public static final String SERVICES_REGION = "services";
+    public static final String STYLISTS_QUERY_REGION = "stylists";
+
+    // Hibernate's own regions once the query cache is on
+    private static final String DEFAULT_QUERY_REGION = "default-query-results-region";
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${salon.l2cache.users.max-entries:10000}") long userEntries,
+            @Value("${salon.l2cache.services.max-entries:5000}") long serviceEntries,
+            @Value("${salon.l2cache.queries.max-entries:500}") long queryEntries,
+            @Value("${salon.l2cache.expire-seconds:60}") long expireSeconds) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // A manager of its own, so two application contexts in one JVM (tests, benchmarks) do not
+        // share regions; no configuration file exists under this URI, so defaults apply
+        URI uri = URI.create("salon-l2cache-" + UUID.randomUUID());
+        CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+        Duration expiry = Duration.ofSeconds(expireSeconds);
+        cacheManager.createCache(USERS_REGION, region(userEntries, expiry));
+        cacheManager.createCache(SERVICES_REGION, region(serviceEntries, expiry));
+        cacheManager.createCache(STYLISTS_QUERY_REGION, region(queryEntries, expiry));
+        cacheManager.createCache(DEFAULT_QUERY_REGION, region(queryEntries, expiry));
+        // Query results are checked against these table timestamps, so they must never be evicted
+        cacheManager.createCache(TIMESTAMPS_REGION, region(null, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(Long maximumEntries, Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (maximumEntries != null) {
+            configuration.setMaximumSize(OptionalLong.of(maximumEntries));
+        }
+        if (expireAfterWrite != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        }
+        return configuration;
+    }
+}
@@ -0,0 +1,38 @@
+package com.salon.booking.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Pool size, active, queued and completed task gauges for the application's own executors
+ * (executor.* tagged with name=...), so saturation shows up next to the Hikari pool metrics.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder executorMetrics(
+            @Qualifier("availabilitySearchExecutor") ExecutorService availabilitySearchExecutor,
+            @Qualifier("emailDeliveryExecutor") ThreadPoolExecutor emailDeliveryExecutor,
+            @Qualifier("sseDispatchExecutor") ThreadPoolExecutor sseDispatchExecutor,
+            @Qualifier("sseWriteExecutor") ThreadPoolExecutor sseWriteExecutor,
+            @Qualifier("dashboardExecutor") ThreadPoolExecutor dashboardExecutor,
+            @Qualifier("exportTaskExecutor") ThreadPoolTaskExecutor exportTaskExecutor) {
+        return registry -> {
+            new ExecutorServiceMetrics(availabilitySearchExecutor, "availabilitySearch", Tags.empty()).bindTo(registry);
+            new ExecutorServiceMetrics(emailDeliveryExecutor, "emailDelivery", Tags.empty()).bindTo(registry);
+            new ExecutorServiceMetrics(sseDispatchExecutor, "sseDispatch", Tags.empty()).bindTo(registry);
+            new ExecutorServiceMetrics(sseWriteExecutor, "sseWrite", Tags.empty()).bindTo(registry);
+            new ExecutorServiceMetrics(dashboardExecutor, "dashboard", Tags.empty()).bindTo(registry);
+            new ExecutorServiceMetrics(exportTaskExecutor.getThreadPoolExecutor(), "export", Tags.empty()).bindTo(registry);
+        };
+    }
+}
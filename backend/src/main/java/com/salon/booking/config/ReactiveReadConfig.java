@@ -0,0 +1,149 @@
+package com.salon.booking.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salon.booking.controller.ReactiveCustomerController;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.observation.ObservationRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.observation.DefaultServerRequestObservationConvention;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.reactive.ServerHttpObservationFilter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * Reactive read server, enabled with {@code salon.reactive.enabled=true}. Runs WebFlux on its own
+ * Netty port next to the servlet application, serving the catalog and history reads from
+ * ReactiveCustomerController over an R2DBC pool. A few event-loop threads handle every connection,
+ * so read concurrency is bounded by the R2DBC pool rather than by threads; writes stay on MVC.
+ * Boot's R2DBC auto-configuration is excluded (see SalonBookingApplication) because its
+ * transaction manager would displace the JPA one.
+ */
+@Configuration
+@ConditionalOnProperty(name = "salon.reactive.enabled", havingValue = "true")
+public class ReactiveReadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveReadConfig.class);
+
+    // Not a bean: a ConnectionFactory in the context makes Boot back off from the JDBC DataSource
+    private ConnectionPool connectionPool;
+
+    @Bean
+    public DatabaseClient databaseClient(
+            @Value("${salon.reactive.r2dbc.url:}") String url,
+            @Value("${salon.reactive.r2dbc.username:}") String username,
+            @Value("${salon.reactive.r2dbc.password:}") String password,
+            @Value("${salon.reactive.r2dbc.pool-size:20}") int poolSize) {
+        if (url.isBlank()) {
+            throw new RuntimeException("salon.reactive.r2dbc.url is required when salon.reactive.enabled=true");
+        }
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isBlank()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .initialSize(Math.min(poolSize, 5))
+                .maxSize(poolSize)
+                .maxIdleTime(Duration.ofMinutes(10))
+                .maxAcquireTime(Duration.ofSeconds(10))
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    void closeConnectionPool() {
+        if (connectionPool != null) {
+            connectionPool.dispose();
+        }
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public LoopResources reactiveReadLoop(@Value("${salon.reactive.event-loop-threads:2}") int threads) {
+        return LoopResources.create("reactive-read", threads, true);
+    }
+
+    // Takes the DatabaseClient only so the pool exists by the time the registry binds this
+    @Bean
+    public MeterBinder reactiveConnectionPoolMetrics(DatabaseClient databaseClient) {
+        return registry -> connectionPool.getMetrics().ifPresent(metrics -> {
+            Gauge.builder("salon.reactive.r2dbc.connections.acquired", metrics, PoolMetrics::acquiredSize)
+                    .description("R2DBC connections in use by the reactive read server")
+                    .register(registry);
+            Gauge.builder("salon.reactive.r2dbc.connections.pending", metrics, PoolMetrics::pendingAcquireSize)
+                    .description("Reads waiting for an R2DBC connection")
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public WebServer reactiveReadServer(ReactiveCustomerController controller, ObjectMapper objectMapper,
+                                        LoopResources reactiveReadLoop, ObservationRegistry observationRegistry,
+                                        @Value("${salon.reactive.port:8081}") int port) {
+        UrlBasedCorsConfigurationSource cors = new UrlBasedCorsConfigurationSource();
+        cors.registerCorsConfiguration("/api/**", CorsConfig.apiCorsConfiguration());
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .webFilter(new CorsWebFilter(cors))
+                // Timed apart from the servlet side's http.server.requests
+                .webFilter(new ServerHttpObservationFilter(observationRegistry,
+                        new DefaultServerRequestObservationConvention("salon.reactive.http.server.requests")))
+                .build();
+
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory(port);
+        factory.addServerCustomizers(server -> server.runOn(reactiveReadLoop));
+        return factory.getWebServer(RouterFunctions.toHttpHandler(controller.routes(), strategies));
+    }
+
+    // Started with the rest of the application once the context is ready, stopped before beans are destroyed
+    @Bean
+    public SmartLifecycle reactiveReadServerLifecycle(@Qualifier("reactiveReadServer") WebServer server) {
+        return new SmartLifecycle() {
+            private volatile boolean running;
+
+            @Override
+            public void start() {
+                server.start();
+                running = true;
+                log.info("Reactive read server listening on port {}", server.getPort());
+            }
+
+            @Override
+            public void stop() {
+                running = false;
+                server.stop();
+            }
+
+            @Override
+            public boolean isRunning() {
+                return running;
+            }
+        };
+    }
+}
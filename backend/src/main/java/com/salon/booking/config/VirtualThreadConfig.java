@@ -0,0 +1,34 @@
+package com.salon.booking.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual-thread request execution, enabled with {@code salon.threads.virtual=true}. Tomcat runs
+ * every request on a new virtual thread instead of its bounded worker pool, so requests waiting
+ * on MySQL no longer cap concurrency; the connection pool does. The bounded executors in
+ * ExecutorConfig, including the one MVC runs exports on, keep their limits and only swap their
+ * thread factory.
+ */
+@Configuration
+@ConditionalOnProperty(name = "salon.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    // Closed after the web server has stopped, waiting for requests still running
+    @Bean(destroyMethod = "close")
+    public ExecutorService virtualThreadExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadRequestExecutor(
+            @Qualifier("virtualThreadExecutor") ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+}
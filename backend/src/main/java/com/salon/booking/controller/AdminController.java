@@ -1,15 +1,35 @@
 package com.salon.booking.controller;
 
+import com.salon.booking.config.AsyncTimeoutConfig;
+import com.salon.booking.dto.BookingSummary;
+import com.salon.booking.dto.UserSummary;
 import com.salon.booking.entity.Booking;
-import com.salon.booking.entity.Feedback;
 import com.salon.booking.entity.User;
 import com.salon.booking.service.BookingService;
+import com.salon.booking.service.DashboardService;
+import com.salon.booking.service.DashboardStatsService;
+import com.salon.booking.service.ExportService;
 import com.salon.booking.service.FeedbackService;
 import com.salon.booking.service.UserService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -28,27 +48,51 @@ public class AdminController {
     @Autowired
     private FeedbackService feedbackService;
 
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${salon.export.timeout-ms:1800000}")
+    private long exportTimeoutMs;
+
     @GetMapping("/stylists")
-    public ResponseEntity<List<User>> getAllStylists() {
-        List<User> stylists = userService.getAllStylists();
+    public ResponseEntity<List<UserSummary>> getAllStylists() {
+        List<UserSummary> stylists = userService.getAllStylists();
         return ResponseEntity.ok(stylists);
     }
 
     @GetMapping("/customers")
-    public ResponseEntity<List<User>> getAllCustomers() {
-        List<User> customers = userService.getAllCustomers();
+    public ResponseEntity<List<UserSummary>> getAllCustomers() {
+        List<UserSummary> customers = userService.getAllCustomers();
         return ResponseEntity.ok(customers);
     }
 
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<?> getUsers(
+            @RequestParam(required = false) User.Role role,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(userService.getUserPage(role, cursor, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/stylists/{stylistId}")
     public ResponseEntity<?> getStylistById(@PathVariable Long stylistId) {
-        Optional<User> stylistOptional = userService.getUserById(stylistId);
+        Optional<UserSummary> stylistOptional = userService.getUserSummary(stylistId);
         if (stylistOptional.isPresent()) {
             return ResponseEntity.ok(stylistOptional.get());
         }
@@ -89,14 +133,22 @@ public class AdminController {
     }
 
     @GetMapping("/bookings")
-    public ResponseEntity<List<Booking>> getAllBookings() {
-        List<Booking> bookings = bookingService.getAllBookings();
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<?> getBookings(
+            @RequestParam(required = false) Booking.BookingStatus status,
+            @RequestParam(required = false) Long stylistId,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookingPage(status, stylistId, customerId, cursor, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/bookings/{bookingId}")
     public ResponseEntity<?> getBookingById(@PathVariable Long bookingId) {
-        Optional<Booking> bookingOptional = bookingService.getBookingById(bookingId);
+        Optional<BookingSummary> bookingOptional = bookingService.getBookingById(bookingId);
         if (bookingOptional.isPresent()) {
             return ResponseEntity.ok(bookingOptional.get());
         }
@@ -104,9 +156,17 @@ public class AdminController {
     }
 
     @GetMapping("/feedback")
-    public ResponseEntity<List<Feedback>> getAllFeedback() {
-        List<Feedback> feedback = feedbackService.getAllFeedback();
-        return ResponseEntity.ok(feedback);
+    public ResponseEntity<?> getFeedback(
+            @RequestParam(required = false) Long stylistId,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Integer maxRating,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(feedbackService.getFeedbackPage(stylistId, customerId, maxRating, cursor, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @DeleteMapping("/feedback/{feedbackId}")
@@ -119,34 +179,95 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/export/bookings")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam(defaultValue = "NDJSON") ExportService.Format format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            HttpServletRequest request) {
+        return exportResponse(request, "bookings", format, out -> exportService.writeBookings(out, format, from, to));
+    }
+
+    @GetMapping("/export/feedback")
+    public ResponseEntity<StreamingResponseBody> exportFeedback(
+            @RequestParam(defaultValue = "NDJSON") ExportService.Format format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            HttpServletRequest request) {
+        return exportResponse(request, "feedback", format, out -> exportService.writeFeedback(out, format, from, to));
+    }
+
+    // Exports can run far longer than other async requests, so only they get the long timeout
+    private ResponseEntity<StreamingResponseBody> exportResponse(HttpServletRequest request, String name,
+                                                                 ExportService.Format format,
+                                                                 StreamingResponseBody body) {
+        request.setAttribute(AsyncTimeoutConfig.TIMEOUT_ATTRIBUTE, exportTimeoutMs);
+        boolean csv = format == ExportService.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? MediaType.parseMediaType("text/csv") : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + (csv ? ".csv" : ".ndjson") + "\"")
+                .body(body);
+    }
+
+    // Stats, users and the first pages of bookings and feedback in one response
+    @GetMapping("/dashboard")
+    public ResponseEntity<?> getDashboard() {
+        try {
+            return ResponseEntity.ok(dashboardService.getAdminDashboard());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/dashboard/stats")
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
         try {
-            List<User> allStylists = userService.getAllStylists();
-            List<User> allCustomers = userService.getAllCustomers();
-            List<Booking> allBookings = bookingService.getAllBookings();
-            List<Feedback> allFeedback = feedbackService.getAllFeedback();
-
-            long pendingBookings = allBookings.stream()
-                    .filter(booking -> booking.getStatus() == Booking.BookingStatus.PENDING)
-                    .count();
-
-            long confirmedBookings = allBookings.stream()
-                    .filter(booking -> booking.getStatus() == Booking.BookingStatus.CONFIRMED)
-                    .count();
-
-            Map<String, Object> stats = Map.of(
-                    "totalStylists", allStylists.size(),
-                    "totalCustomers", allCustomers.size(),
-                    "totalBookings", allBookings.size(),
-                    "pendingBookings", pendingBookings,
-                    "confirmedBookings", confirmedBookings,
-                    "totalFeedback", allFeedback.size()
-            );
-
-            return ResponseEntity.ok(stats);
+            return ResponseEntity.ok(dashboardStatsService.getStats());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache cache) {
+                CacheStats stats = cache.getNativeCache().stats();
+                response.put(name, Map.of(
+                    "size", cache.getNativeCache().estimatedSize(),
+                    "hits", stats.hitCount(),
+                    "misses", stats.missCount(),
+                    "hitRate", stats.hitRate(),
+                    "evictions", stats.evictionCount(),
+                    "averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0
+                ));
+            }
+        }
+        response.put("hibernate", secondLevelCacheStats());
+        return ResponseEntity.ok(response);
+    }
+
+    // Per-region counters of the Hibernate second-level and query caches
+    private Map<String, Object> secondLevelCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats != null) {
+                regions.put(region, Map.of(
+                    "hits", stats.getHitCount(),
+                    "misses", stats.getMissCount(),
+                    "puts", stats.getPutCount()
+                ));
+            }
+        }
+        return Map.of(
+            "regions", regions,
+            "queryCacheHits", statistics.getQueryCacheHitCount(),
+            "queryCacheMisses", statistics.getQueryCacheMissCount(),
+            "queryCachePuts", statistics.getQueryCachePutCount()
+        );
+    }
+}
@@ -1,19 +1,29 @@
 package com.salon.booking.controller;
 
-import com.salon.booking.dto.BookingDTO;
 import com.salon.booking.dto.BookingRequest;
+import com.salon.booking.dto.BookingSummary;
+import com.salon.booking.dto.FeedbackSummary;
+import com.salon.booking.dto.ServiceSummary;
+import com.salon.booking.dto.UserSummary;
 import com.salon.booking.entity.Booking;
 import com.salon.booking.entity.Feedback;
-import com.salon.booking.entity.Service;
-import com.salon.booking.entity.User;
+import com.salon.booking.exception.BookingConflictException;
+import com.salon.booking.service.AvailabilityService;
+import com.salon.booking.service.BookingEventStream;
 import com.salon.booking.service.BookingService;
+import com.salon.booking.service.DashboardService;
 import com.salon.booking.service.FeedbackService;
 import com.salon.booking.service.ServiceService;
+import com.salon.booking.service.StylistRatingService;
 import com.salon.booking.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -33,9 +43,21 @@ public class CustomerController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingEventStream bookingEventStream;
+
+    @Autowired
+    private DashboardService dashboardService;
+
     @Autowired
     private FeedbackService feedbackService;
 
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private StylistRatingService stylistRatingService;
+
     // Health check endpoint
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> healthCheck() {
@@ -43,9 +65,9 @@ public class CustomerController {
     }
 
     @GetMapping("/stylists")
-    public ResponseEntity<List<User>> getAllStylists() {
+    public ResponseEntity<List<UserSummary>> getAllStylists() {
         try {
-            List<User> stylists = userService.getAllStylists();
+            List<UserSummary> stylists = userService.getAllStylists();
             // Return empty list if no stylists found, don't return null
             return ResponseEntity.ok(stylists != null ? stylists : new ArrayList<>());
         } catch (Exception e) {
@@ -56,11 +78,11 @@ public class CustomerController {
     }
 
     @GetMapping("/services")
-    public ResponseEntity<List<Service>> getAllServices() {
+    public ResponseEntity<List<ServiceSummary>> getAllServices() {
         try {
-            List<Service> services = serviceService.getAllServices();
+            List<ServiceSummary> services = serviceService.getAllServices();
             // Always return a valid List, never null
-            List<Service> safeServices = services != null ? services : new ArrayList<>();
+            List<ServiceSummary> safeServices = services != null ? services : new ArrayList<>();
             return ResponseEntity.ok(safeServices);
         } catch (Exception e) {
             System.err.println("Error in CustomerController.getAllServices: " + e.getMessage());
@@ -70,10 +92,21 @@ public class CustomerController {
         }
     }
 
+    @GetMapping("/services/search")
+    public ResponseEntity<?> searchServices(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > 100) {
+            return ResponseEntity.badRequest().body(Map.of("error", "page must be >= 0 and size between 1 and 100"));
+        }
+        return ResponseEntity.ok(serviceService.searchServicesByName(query, page, size));
+    }
+
     @GetMapping("/services/stylist/{stylistId}")
-    public ResponseEntity<List<Service>> getServicesByStylist(@PathVariable Long stylistId) {
+    public ResponseEntity<List<ServiceSummary>> getServicesByStylist(@PathVariable Long stylistId) {
         try {
-            List<Service> services = serviceService.getServicesByStylist(stylistId);
+            List<ServiceSummary> services = serviceService.getServicesByStylist(stylistId);
             return ResponseEntity.ok(services != null ? services : new ArrayList<>());
         } catch (Exception e) {
             System.err.println("Error fetching services for stylist " + stylistId + ": " + e.getMessage());
@@ -81,20 +114,71 @@ public class CustomerController {
         }
     }
 
+    @GetMapping("/stylists/{stylistId}/availability")
+    public ResponseEntity<?> getStylistAvailability(
+            @PathVariable Long stylistId,
+            @RequestParam Long serviceId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(availabilityService.getAvailability(stylistId, serviceId, from, to));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/availability/earliest")
+    public ResponseEntity<?> getEarliestAvailableSlots(
+            @RequestParam(required = false) String service,
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "14") int days,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            LocalDate start = from != null ? from : LocalDate.now();
+            int cappedLimit = Math.max(1, Math.min(limit, 100));
+            return ResponseEntity.ok(availabilityService.findEarliestSlots(service, specialization, start, days, cappedLimit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PostMapping("/bookings/{customerId}")
     public ResponseEntity<?> createBooking(@PathVariable Long customerId, @Valid @RequestBody BookingRequest bookingRequest) {
         try {
             Booking booking = bookingService.createBooking(customerId, bookingRequest);
             return ResponseEntity.ok(booking);
+        } catch (BookingConflictException e) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/bookings/{customerId}/bulk")
+    public ResponseEntity<?> createBookings(@PathVariable Long customerId, @RequestBody List<BookingRequest> bookingRequests) {
+        if (bookingRequests == null || bookingRequests.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At least one booking is required"));
+        }
+        if (bookingRequests.size() > BookingService.MAX_BULK_BOOKINGS) {
+            return ResponseEntity.badRequest().body(Map.of("error",
+                    "At most " + BookingService.MAX_BULK_BOOKINGS + " bookings per request"));
+        }
+        try {
+            List<Booking> bookings = bookingService.createBookings(customerId, bookingRequests);
+            List<Long> bookingIds = bookings.stream().map(Booking::getId).toList();
+            return ResponseEntity.ok(Map.of("created", bookingIds.size(), "bookingIds", bookingIds));
+        } catch (BookingConflictException e) {
+            return ResponseEntity.status(409).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
     @GetMapping("/bookings/{customerId}")
-    public ResponseEntity<List<BookingDTO>> getCustomerBookings(@PathVariable Long customerId) {
+    public ResponseEntity<List<BookingSummary>> getCustomerBookings(@PathVariable Long customerId) {
         try {
-            List<BookingDTO> bookings = bookingService.getBookingsByCustomerAsDTO(customerId);
+            List<BookingSummary> bookings = bookingService.getBookingsByCustomer(customerId);
             return ResponseEntity.ok(bookings != null ? bookings : new ArrayList<>());
         } catch (Exception e) {
             System.err.println("Error fetching bookings for customer " + customerId + ": " + e.getMessage());
@@ -102,10 +186,33 @@ public class CustomerController {
         }
     }
 
+    // Pushes a "booking" event whenever one of the customer's bookings is created, changes or is deleted
+    @GetMapping(path = "/{customerId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBookingEvents(@PathVariable Long customerId) {
+        return bookingEventStream.subscribeCustomer(customerId);
+    }
+
+    // Stylists, services and the customer's bookings in one response
+    @GetMapping("/{customerId}/dashboard")
+    public ResponseEntity<?> getDashboard(@PathVariable Long customerId) {
+        try {
+            return ResponseEntity.ok(dashboardService.getCustomerDashboard(customerId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/bookings/history/{customerId}")
-    public ResponseEntity<List<Booking>> getBookingHistory(@PathVariable Long customerId) {
-        List<Booking> bookings = bookingService.getBookingHistory(customerId);
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<?> getBookingHistory(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) Booking.BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookingPage(status, null, customerId, cursor, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @PostMapping("/feedback/{customerId}")
@@ -125,14 +232,21 @@ public class CustomerController {
     }
 
     @GetMapping("/feedback/{customerId}")
-    public ResponseEntity<List<Feedback>> getCustomerFeedback(@PathVariable Long customerId) {
-        List<Feedback> feedback = feedbackService.getFeedbackByCustomer(customerId);
+    public ResponseEntity<List<FeedbackSummary>> getCustomerFeedback(@PathVariable Long customerId) {
+        List<FeedbackSummary> feedback = feedbackService.getFeedbackByCustomer(customerId);
         return ResponseEntity.ok(feedback);
     }
 
     @GetMapping("/stylist/{stylistId}/rating")
     public ResponseEntity<Map<String, Object>> getStylistRating(@PathVariable Long stylistId) {
-        Double averageRating = feedbackService.getAverageRatingForStylist(stylistId);
-        return ResponseEntity.ok(Map.of("averageRating", averageRating != null ? averageRating : 0.0));
+        return ResponseEntity.ok(stylistRatingService.getRating(stylistId));
+    }
+
+    @GetMapping("/stylists/ratings")
+    public ResponseEntity<?> getStylistRatings(@RequestParam List<Long> ids) {
+        if (ids.size() > 500) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At most 500 stylist ids per request"));
+        }
+        return ResponseEntity.ok(stylistRatingService.getRatings(ids.stream().distinct().toList()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,179 @@
+package com.salon.booking.controller;
+
+import com.salon.booking.dto.BookingSummary;
+import com.salon.booking.dto.CursorPage;
+import com.salon.booking.dto.PageCursor;
+import com.salon.booking.dto.ServiceSummary;
+import com.salon.booking.dto.UserSummary;
+import com.salon.booking.entity.Booking;
+import com.salon.booking.repository.reactive.ReactiveBookingRepository;
+import com.salon.booking.repository.reactive.ReactiveFeedbackRepository;
+import com.salon.booking.repository.reactive.ReactiveServiceRepository;
+import com.salon.booking.repository.reactive.ReactiveUserRepository;
+import com.salon.booking.service.StylistRatingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.reactive.ServerHttpObservationFilter;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+/**
+ * Non-blocking versions of the CustomerController reads, served by the reactive read server
+ * (see ReactiveReadConfig) on its own port with the same paths. Lists are streamed from R2DBC as
+ * they are read: a JSON array by default, or one object per line for application/x-ndjson. Rows
+ * are requested from the driver in batches of salon.reactive.prefetch as the client consumes
+ * them, so a slow reader holds back the query instead of buffering it.
+ */
+@Component
+@ConditionalOnProperty(name = "salon.reactive.enabled", havingValue = "true")
+public class ReactiveCustomerController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveCustomerController.class);
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private ReactiveServiceRepository serviceRepository;
+
+    @Autowired
+    private ReactiveBookingRepository bookingRepository;
+
+    @Autowired
+    private ReactiveFeedbackRepository feedbackRepository;
+
+    @Autowired
+    private StylistRatingService stylistRatingService;
+
+    @Value("${salon.reactive.prefetch:256}")
+    private int prefetch;
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .path("/api/customer", builder -> builder
+                        .route(GET("/stylists"), this::getAllStylists)
+                        .route(GET("/services"), this::getAllServices)
+                        .route(GET("/services/stylist/{stylistId}"), this::getServicesByStylist)
+                        .route(GET("/bookings/{customerId}"), this::getCustomerBookings)
+                        .route(GET("/bookings/history/{customerId}"), this::getBookingHistory)
+                        .route(GET("/stylist/{stylistId}/rating"), this::getStylistRating))
+                // Non-numeric ids, as MVC's type conversion would reject them
+                .onError(NumberFormatException.class, (e, request) -> badRequest(e))
+                // Served without a handler mapping, so the matched pattern is handed to the
+                // request metrics here; otherwise every request is tagged uri=UNKNOWN
+                .filter((request, next) -> {
+                    request.attribute(RouterFunctions.MATCHING_PATTERN_ATTRIBUTE).ifPresent(pattern ->
+                            ServerHttpObservationFilter.findObservationContext(request.exchange())
+                                    .ifPresent(context -> context.setPathPattern(pattern.toString())));
+                    return next.handle(request);
+                })
+                .build();
+    }
+
+    private Mono<ServerResponse> getAllStylists(ServerRequest request) {
+        return stream(request, userRepository.findAllStylists(), UserSummary.class,
+                "Error fetching stylists");
+    }
+
+    private Mono<ServerResponse> getAllServices(ServerRequest request) {
+        return stream(request, serviceRepository.findAllSummaries(), ServiceSummary.class,
+                "Error in ReactiveCustomerController.getAllServices");
+    }
+
+    private Mono<ServerResponse> getServicesByStylist(ServerRequest request) {
+        return pathId(request, "stylistId").flatMap(stylistId -> stream(request,
+                serviceRepository.findSummariesByStylistId(stylistId), ServiceSummary.class,
+                "Error fetching services for stylist " + stylistId));
+    }
+
+    private Mono<ServerResponse> getCustomerBookings(ServerRequest request) {
+        return pathId(request, "customerId").flatMap(customerId -> stream(request,
+                bookingRepository.findSummariesByCustomerId(customerId), BookingSummary.class,
+                "Error fetching bookings for customer " + customerId));
+    }
+
+    // A page is at most CursorPage.MAX_LIMIT rows and needs the row after it for the cursor,
+    // so it is collected rather than streamed
+    private Mono<ServerResponse> getBookingHistory(ServerRequest request) {
+        Long customerId;
+        Booking.BookingStatus status;
+        PageCursor after;
+        int pageSize;
+        // Only malformed parameters are the client's fault; NumberFormatException included
+        try {
+            customerId = Long.valueOf(request.pathVariable("customerId"));
+            status = request.queryParam("status").map(Booking.BookingStatus::valueOf).orElse(null);
+            after = request.queryParam("cursor").filter(cursor -> !cursor.isBlank())
+                    .map(PageCursor::decode).orElse(null);
+            pageSize = CursorPage.clampLimit(request.queryParam("limit").map(Integer::parseInt)
+                    .orElse(CursorPage.DEFAULT_LIMIT));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+
+        return bookingRepository.findCustomerPage(customerId, status,
+                        after != null ? after.position() : null, after != null ? after.id() : null, pageSize + 1)
+                .collectList()
+                .map(rows -> CursorPage.of(rows, pageSize, b -> new PageCursor(b.bookingDateTime(), b.id())))
+                .flatMap(page -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(page))
+                .onErrorResume(e -> {
+                    log.error("Error fetching booking history for customer " + customerId, e);
+                    return serverError(e);
+                });
+    }
+
+    // Loaded aggregates come straight from memory; otherwise the counts are read here without
+    // blocking, leaving the cache to be filled by the MVC side
+    private Mono<ServerResponse> getStylistRating(ServerRequest request) {
+        return pathId(request, "stylistId")
+                .flatMap(stylistId -> Mono.justOrEmpty(stylistRatingService.getCachedRating(stylistId))
+                        .switchIfEmpty(Mono.defer(() -> feedbackRepository.countRatingsByStylistId(stylistId)
+                                .map(counts -> stylistRatingService.toRating(stylistId, counts)))))
+                .flatMap(rating -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(rating));
+    }
+
+    // The status waits for the first row, so a query that fails outright is a 500. An error after
+    // rows have gone out aborts the response: the client sees a broken transfer, never a
+    // well-formed list that is silently cut short
+    private <T> Mono<ServerResponse> stream(ServerRequest request, Flux<T> rows, Class<T> type, String errorMessage) {
+        MediaType mediaType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return rows.limitRate(prefetch)
+                .doOnError(e -> log.error(errorMessage, e))
+                // false: the body is subscribed when the response is written, after this completes
+                .switchOnFirst((first, body) -> first.hasError()
+                        ? serverError(first.getThrowable())
+                        : ServerResponse.ok().contentType(mediaType).body(body, type), false)
+                .singleOrEmpty();
+    }
+
+    // Parsed inside the Mono so a non-numeric id reaches the router's onError as a 400
+    private static Mono<Long> pathId(ServerRequest request, String name) {
+        return Mono.fromCallable(() -> Long.valueOf(request.pathVariable(name)));
+    }
+
+    private static Mono<ServerResponse> serverError(Throwable e) {
+        return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("error", String.valueOf(e.getMessage())));
+    }
+
+    private static Mono<ServerResponse> badRequest(Throwable e) {
+        return ServerResponse.badRequest().contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("error", String.valueOf(e.getMessage())));
+    }
+}
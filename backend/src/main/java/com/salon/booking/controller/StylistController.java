@@ -1,17 +1,29 @@
 package com.salon.booking.controller;
 
+import com.salon.booking.dto.BookingStatusChange;
+import com.salon.booking.dto.BookingStatusResult;
+import com.salon.booking.dto.BookingSummary;
+import com.salon.booking.dto.CustomerActivity;
+import com.salon.booking.dto.FeedbackSummary;
+import com.salon.booking.dto.ServiceSummary;
+import com.salon.booking.dto.UserSummary;
 import com.salon.booking.entity.Booking;
-import com.salon.booking.entity.Feedback;
 import com.salon.booking.entity.Service;
 import com.salon.booking.entity.User;
+import com.salon.booking.exception.BookingConflictException;
+import com.salon.booking.service.BookingEventStream;
 import com.salon.booking.service.BookingService;
-import com.salon.booking.service.EmailService;
+import com.salon.booking.service.DashboardService;
 import com.salon.booking.service.FeedbackService;
 import com.salon.booking.service.ServiceService;
 import com.salon.booking.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -26,6 +38,12 @@ public class StylistController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingEventStream bookingEventStream;
+
+    @Autowired
+    private DashboardService dashboardService;
+
     @Autowired
     private ServiceService serviceService;
 
@@ -35,9 +53,6 @@ public class StylistController {
     @Autowired
     private FeedbackService feedbackService;
 
-    @Autowired
-    private EmailService emailService;
-
     // Test endpoint to verify API connectivity
     @GetMapping("/test")
     public ResponseEntity<Map<String, String>> testEndpoint() {
@@ -45,17 +60,40 @@ public class StylistController {
     }
 
     @GetMapping("/bookings/{stylistId}")
-    public ResponseEntity<List<Booking>> getStylistBookings(@PathVariable Long stylistId) {
-        List<Booking> bookings = bookingService.getBookingsByStylist(stylistId);
-        return ResponseEntity.ok(bookings);
+    public ResponseEntity<?> getStylistBookings(
+            @PathVariable Long stylistId,
+            @RequestParam(required = false) Booking.BookingStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookingPage(status, stylistId, null, cursor, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/bookings/pending/{stylistId}")
-    public ResponseEntity<List<Booking>> getPendingBookings(@PathVariable Long stylistId) {
-        List<Booking> pendingBookings = bookingService.getPendingBookingsByStylist(stylistId);
+    public ResponseEntity<List<BookingSummary>> getPendingBookings(@PathVariable Long stylistId) {
+        List<BookingSummary> pendingBookings = bookingService.getPendingBookingsByStylist(stylistId);
         return ResponseEntity.ok(pendingBookings);
     }
 
+    // Pushes a "booking" event whenever one of the stylist's bookings is created, changes or is deleted
+    @GetMapping(path = "/{stylistId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBookingEvents(@PathVariable Long stylistId) {
+        return bookingEventStream.subscribeStylist(stylistId);
+    }
+
+    // Pending and recent bookings, services, customers and feedback in one response
+    @GetMapping("/{stylistId}/dashboard")
+    public ResponseEntity<?> getDashboard(@PathVariable Long stylistId) {
+        try {
+            return ResponseEntity.ok(dashboardService.getStylistDashboard(stylistId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PutMapping("/bookings/{bookingId}/status")
     public ResponseEntity<?> updateBookingStatus(
             @PathVariable Long bookingId,
@@ -64,16 +102,31 @@ public class StylistController {
             String status = statusData.get("status");
             Booking.BookingStatus bookingStatus = Booking.BookingStatus.valueOf(status.toUpperCase());
             
+            // Customer notification is queued by BookingService with the status change
             Booking updatedBooking = bookingService.updateBookingStatus(bookingId, bookingStatus);
-            
-            // Send appropriate email notification to customer
-            if (bookingStatus == Booking.BookingStatus.CONFIRMED) {
-                emailService.sendBookingConfirmationToCustomer(updatedBooking);
-            } else if (bookingStatus == Booking.BookingStatus.REJECTED) {
-                emailService.sendBookingRejectionToCustomer(updatedBooking);
-            }
-            
             return ResponseEntity.ok(updatedBooking);
+        } catch (BookingConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PutMapping("/bookings/status")
+    public ResponseEntity<?> updateBookingStatuses(@RequestBody List<BookingStatusChange> changes) {
+        if (changes == null || changes.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "At least one status change is required"));
+        }
+        if (changes.size() > BookingService.MAX_BULK_STATUS_CHANGES) {
+            return ResponseEntity.badRequest().body(Map.of("error",
+                    "At most " + BookingService.MAX_BULK_STATUS_CHANGES + " status changes per request"));
+        }
+        try {
+            List<BookingStatusResult> results = bookingService.updateBookingStatuses(changes);
+            long updated = results.stream()
+                    .filter(r -> r.outcome() == BookingStatusResult.Outcome.UPDATED)
+                    .count();
+            return ResponseEntity.ok(Map.of("updated", updated, "results", results));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -83,17 +136,17 @@ public class StylistController {
     public ResponseEntity<?> getStylistServices(@PathVariable Long stylistId) {
         try {
             // Verify stylist exists and has correct role
-            Optional<User> stylistOptional = userService.getUserById(stylistId);
+            Optional<UserSummary> stylistOptional = userService.getUserSummary(stylistId);
             if (stylistOptional.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
             
-            User stylist = stylistOptional.get();
-            if (stylist.getRole() != User.Role.STYLIST) {
+            UserSummary stylist = stylistOptional.get();
+            if (stylist.role() != User.Role.STYLIST) {
                 return ResponseEntity.badRequest().body(Map.of("error", "User is not a stylist"));
             }
 
-            List<Service> services = serviceService.getServicesByStylist(stylistId);
+            List<ServiceSummary> services = serviceService.getServicesByStylist(stylistId);
             return ResponseEntity.ok(services);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", "Error fetching services: " + e.getMessage()));
@@ -178,17 +231,17 @@ public class StylistController {
     @GetMapping("/profile/{stylistId}")
     public ResponseEntity<?> getStylistProfile(@PathVariable Long stylistId) {
         try {
-            Optional<User> stylistOptional = userService.getUserById(stylistId);
-            if (stylistOptional.isPresent() && stylistOptional.get().getRole() == User.Role.STYLIST) {
-                User stylist = stylistOptional.get();
+            Optional<UserSummary> stylistOptional = userService.getUserSummary(stylistId);
+            if (stylistOptional.isPresent() && stylistOptional.get().role() == User.Role.STYLIST) {
+                UserSummary stylist = stylistOptional.get();
                 // Create a clean response object to avoid serialization issues
                 Map<String, Object> response = Map.of(
-                    "id", stylist.getId(),
-                    "name", stylist.getName(),
-                    "email", stylist.getEmail(),
-                    "specialization", stylist.getSpecialization() != null ? stylist.getSpecialization() : "",
-                    "role", stylist.getRole().toString(),
-                    "createdAt", stylist.getCreatedAt().toString()
+                    "id", stylist.id(),
+                    "name", stylist.name(),
+                    "email", stylist.email(),
+                    "specialization", stylist.specialization() != null ? stylist.specialization() : "",
+                    "role", stylist.role().toString(),
+                    "createdAt", stylist.createdAt().toString()
                 );
                 return ResponseEntity.ok(response);
             }
@@ -244,18 +297,22 @@ public class StylistController {
     }
 
     @GetMapping("/feedback/{stylistId}")
-    public ResponseEntity<List<Feedback>> getStylistFeedback(@PathVariable Long stylistId) {
-        List<Feedback> feedback = feedbackService.getFeedbackByStylist(stylistId);
+    public ResponseEntity<List<FeedbackSummary>> getStylistFeedback(@PathVariable Long stylistId) {
+        List<FeedbackSummary> feedback = feedbackService.getFeedbackByStylist(stylistId);
         return ResponseEntity.ok(feedback);
     }
 
+    // Customers with booking counts, visits, last visit and spend; sort is any CustomerActivity.SortField
     @GetMapping("/customers/{stylistId}")
-    public ResponseEntity<List<User>> getStylistCustomers(@PathVariable Long stylistId) {
-        List<Booking> bookings = bookingService.getBookingsByStylist(stylistId);
-        List<User> customers = bookings.stream()
-                .map(Booking::getCustomer)
-                .distinct()
-                .toList();
-        return ResponseEntity.ok(customers);
+    public ResponseEntity<?> getStylistCustomers(
+            @PathVariable Long stylistId,
+            @RequestParam(defaultValue = "LAST_BOOKING") CustomerActivity.SortField sort,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > 100) {
+            return ResponseEntity.badRequest().body(Map.of("error", "page must be >= 0 and size between 1 and 100"));
+        }
+        return ResponseEntity.ok(userService.getCustomersOfStylist(stylistId, sort, direction, page, size));
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.salon.booking.dto;
+
+// One item of a bulk status update: the booking and the status it should move to
+public class BookingStatusChange {
+    private Long bookingId;
+
+    private String status;
+
+    // Constructors
+    public BookingStatusChange() {}
+
+    public BookingStatusChange(Long bookingId, String status) {
+        this.bookingId = bookingId;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
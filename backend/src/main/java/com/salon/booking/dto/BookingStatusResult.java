@@ -0,0 +1,37 @@
+package com.salon.booking.dto;
+
+import com.salon.booking.entity.Booking;
+
+// Outcome of one item of a bulk status update; status is the booking's status afterwards
+public record BookingStatusResult(
+        Long bookingId,
+        Outcome outcome,
+        Booking.BookingStatus previousStatus,
+        Booking.BookingStatus status,
+        String error) {
+
+    public enum Outcome {
+        UPDATED, UNCHANGED, CONFLICT, NOT_FOUND, INVALID
+    }
+
+    public static BookingStatusResult updated(Long bookingId, Booking.BookingStatus previousStatus,
+                                              Booking.BookingStatus status) {
+        return new BookingStatusResult(bookingId, Outcome.UPDATED, previousStatus, status, null);
+    }
+
+    public static BookingStatusResult unchanged(Long bookingId, Booking.BookingStatus status) {
+        return new BookingStatusResult(bookingId, Outcome.UNCHANGED, status, status, null);
+    }
+
+    public static BookingStatusResult conflict(Long bookingId, Booking.BookingStatus status, String error) {
+        return new BookingStatusResult(bookingId, Outcome.CONFLICT, status, status, error);
+    }
+
+    public static BookingStatusResult notFound(Long bookingId) {
+        return new BookingStatusResult(bookingId, Outcome.NOT_FOUND, null, null, "Booking not found");
+    }
+
+    public static BookingStatusResult invalid(Long bookingId, String error) {
+        return new BookingStatusResult(bookingId, Outcome.INVALID, null, null, error);
+    }
+}
@@ -0,0 +1,38 @@
+package com.salon.booking.dto;
+
+import com.salon.booking.entity.Booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record BookingSummary(
+        Long id,
+        ServiceInfo service,
+        ServiceSummary.StylistInfo stylist,
+        CustomerInfo customer,
+        LocalDateTime bookingDateTime,
+        Booking.BookingStatus status,
+        String notes,
+        LocalDateTime createdAt) {
+
+    public record ServiceInfo(Long id, String name, String description, BigDecimal price, Integer durationMinutes) {
+    }
+
+    public record CustomerInfo(Long id, String name, String email) {
+    }
+
+    // Flat form used by the JPQL constructor expressions in BookingRepository
+    public BookingSummary(Long id,
+                          Long serviceId, String serviceName, String serviceDescription, BigDecimal servicePrice,
+                          Integer serviceDurationMinutes,
+                          Long stylistId, String stylistName, String stylistEmail, String stylistSpecialization,
+                          Long customerId, String customerName, String customerEmail,
+                          LocalDateTime bookingDateTime, Booking.BookingStatus status, String notes,
+                          LocalDateTime createdAt) {
+        this(id,
+                new ServiceInfo(serviceId, serviceName, serviceDescription, servicePrice, serviceDurationMinutes),
+                new ServiceSummary.StylistInfo(stylistId, stylistName, stylistEmail, stylistSpecialization),
+                new CustomerInfo(customerId, customerName, customerEmail),
+                bookingDateTime, status, notes, createdAt);
+    }
+}
@@ -0,0 +1,16 @@
+package com.salon.booking.dto;
+
+import com.salon.booking.entity.Booking;
+import com.salon.booking.event.BookingEvent;
+
+/**
+ * Payload of the {@code booking} server-sent event. {@code booking} is null when the booking
+ * was deleted.
+ */
+public record BookingUpdate(
+        BookingEvent.Type type,
+        Long bookingId,
+        Booking.BookingStatus previousStatus,
+        Booking.BookingStatus status,
+        BookingSummary booking) {
+}
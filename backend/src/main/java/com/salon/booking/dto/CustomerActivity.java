@@ -0,0 +1,23 @@
+package com.salon.booking.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A customer as seen by one stylist: how often they booked, how often they actually came
+ * (completed bookings) and what those visits were worth at current service prices.
+ */
+public record CustomerActivity(
+        Long id,
+        String name,
+        String email,
+        Long bookings,
+        Long visits,
+        LocalDateTime lastBookingAt,
+        LocalDateTime lastVisitAt,
+        BigDecimal totalSpend) {
+
+    public enum SortField {
+        NAME, BOOKINGS, VISITS, LAST_BOOKING, LAST_VISIT, TOTAL_SPEND
+    }
+}
@@ -0,0 +1,35 @@
+package com.salon.booking.dto;
+
+import com.salon.booking.entity.Booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record FeedbackSummary(
+        Long id,
+        Integer rating,
+        String comment,
+        LocalDateTime createdAt,
+        BookingSummary.CustomerInfo customer,
+        ServiceSummary.StylistInfo stylist,
+        BookingInfo booking) {
+
+    public record BookingInfo(Long id, LocalDateTime bookingDateTime, Booking.BookingStatus status,
+                              BookingSummary.ServiceInfo service) {
+    }
+
+    // Flat form used by the JPQL constructor expressions in FeedbackRepository
+    public FeedbackSummary(Long id, Integer rating, String comment, LocalDateTime createdAt,
+                           Long customerId, String customerName, String customerEmail,
+                           Long stylistId, String stylistName, String stylistEmail, String stylistSpecialization,
+                           Long bookingId, LocalDateTime bookingDateTime, Booking.BookingStatus bookingStatus,
+                           Long serviceId, String serviceName, String serviceDescription, BigDecimal servicePrice,
+                           Integer serviceDurationMinutes) {
+        this(id, rating, comment, createdAt,
+                new BookingSummary.CustomerInfo(customerId, customerName, customerEmail),
+                new ServiceSummary.StylistInfo(stylistId, stylistName, stylistEmail, stylistSpecialization),
+                new BookingInfo(bookingId, bookingDateTime, bookingStatus,
+                        new BookingSummary.ServiceInfo(serviceId, serviceName, serviceDescription, servicePrice,
+                                serviceDurationMinutes)));
+    }
+}
@@ -0,0 +1,25 @@
+package com.salon.booking.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record ServiceSummary(
+        Long id,
+        String name,
+        String description,
+        BigDecimal price,
+        Integer durationMinutes,
+        LocalDateTime createdAt,
+        StylistInfo stylist) {
+
+    public record StylistInfo(Long id, String name, String email, String specialization) {
+    }
+
+    // Flat form used by the JPQL constructor expressions in ServiceRepository
+    public ServiceSummary(Long id, String name, String description, BigDecimal price, Integer durationMinutes,
+                          LocalDateTime createdAt,
+                          Long stylistId, String stylistName, String stylistEmail, String stylistSpecialization) {
+        this(id, name, description, price, durationMinutes, createdAt,
+                new StylistInfo(stylistId, stylistName, stylistEmail, stylistSpecialization));
+    }
+}
@@ -0,0 +1,15 @@
+package com.salon.booking.dto;
+
+import com.salon.booking.entity.User;
+
+import java.time.LocalDateTime;
+
+// Read-only view of a user for list endpoints; never carries the password or collections
+public record UserSummary(
+        Long id,
+        String name,
+        String email,
+        User.Role role,
+        String specialization,
+        LocalDateTime createdAt) {
+}
@@ -6,13 +6,27 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    // Keyset pagination on (booking_datetime, id); InnoDB appends the primary key to every index
+    @Index(name = "idx_bookings_datetime", columnList = "booking_datetime"),
+    @Index(name = "idx_bookings_stylist_datetime", columnList = "stylist_id, booking_datetime"),
+    @Index(name = "idx_bookings_customer_datetime", columnList = "customer_id, booking_datetime"),
+    @Index(name = "idx_bookings_stylist_status_datetime", columnList = "stylist_id, status, booking_datetime"),
+    @Index(name = "idx_bookings_status_datetime", columnList = "status, booking_datetime")
+})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Ids come in pooled blocks from id_generators so Hibernate can batch inserts, which IDENTITY rules out
+    // (each block is claimed on a second pooled connection, see spring.datasource.hikari.maximum-pool-size)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "booking_ids")
+    @TableGenerator(name = "booking_ids", table = "id_generators", pkColumnName = "entity_name",
+            valueColumnName = "next_val", pkColumnValue = "bookings", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -52,7 +66,29 @@ public class Booking {
     private Feedback feedback;
 
     public enum BookingStatus {
-        PENDING, CONFIRMED, REJECTED, COMPLETED, CANCELLED
+        PENDING, CONFIRMED, REJECTED, COMPLETED, CANCELLED;
+
+        // Rejected and cancelled bookings give the stylist's time back
+        public boolean occupiesSlot() {
+            return this == PENDING || this == CONFIRMED || this == COMPLETED;
+        }
+
+        public static List<BookingStatus> occupying() {
+            return List.of(PENDING, CONFIRMED, COMPLETED);
+        }
+
+        // Statuses a booking may move to from this one; rejected, completed and cancelled are final
+        public Set<BookingStatus> nextStatuses() {
+            return switch (this) {
+                case PENDING -> EnumSet.of(CONFIRMED, REJECTED, CANCELLED);
+                case CONFIRMED -> EnumSet.of(COMPLETED, CANCELLED);
+                case REJECTED, COMPLETED, CANCELLED -> EnumSet.noneOf(BookingStatus.class);
+            };
+        }
+
+        public boolean canMoveTo(BookingStatus next) {
+            return nextStatuses().contains(next);
+        }
     }
 
     // Constructors
@@ -9,11 +9,18 @@ import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "feedback")
+@Table(name = "feedback", indexes = {
+    @Index(name = "idx_feedback_created", columnList = "created_at"),
+    @Index(name = "idx_feedback_stylist_created", columnList = "stylist_id, created_at"),
+    @Index(name = "idx_feedback_customer_created", columnList = "customer_id, created_at"),
+    @Index(name = "idx_feedback_stylist_rating", columnList = "stylist_id, rating")
+})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Feedback {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "feedback_ids")
+    @TableGenerator(name = "feedback_ids", table = "id_generators", pkColumnName = "entity_name",
+            valueColumnName = "next_val", pkColumnValue = "feedback", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -40,7 +47,7 @@ public class Feedback {
     @Column(length = 1000, nullable = false)
     private String comment;
 
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
     // Constructors
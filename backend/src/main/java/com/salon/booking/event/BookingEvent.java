@@ -0,0 +1,98 @@
+package com.salon.booking.event;
+
+import com.salon.booking.entity.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by BookingService whenever a booking is created, changes status or is deleted.
+ * Listeners receive it after the surrounding transaction commits.
+ */
+public class BookingEvent {
+
+    public enum Type {
+        CREATED, STATUS_CHANGED, DELETED
+    }
+
+    private final Type type;
+    private final Long bookingId;
+    private final Long customerId;
+    private final Long stylistId;
+    private final LocalDateTime bookingDateTime;
+    private final Integer durationMinutes;
+    private final Booking.BookingStatus previousStatus;
+    private final Booking.BookingStatus status;
+
+    public BookingEvent(Type type, Long bookingId, Long customerId, Long stylistId,
+                        LocalDateTime bookingDateTime, Integer durationMinutes,
+                        Booking.BookingStatus previousStatus, Booking.BookingStatus status) {
+        this.type = type;
+        this.bookingId = bookingId;
+        this.customerId = customerId;
+        this.stylistId = stylistId;
+        this.bookingDateTime = bookingDateTime;
+        this.durationMinutes = durationMinutes;
+        this.previousStatus = previousStatus;
+        this.status = status;
+    }
+
+    public static BookingEvent created(Booking booking) {
+        return new BookingEvent(Type.CREATED, booking.getId(), booking.getCustomer().getId(),
+                booking.getStylist().getId(), booking.getBookingDateTime(),
+                booking.getService().getDurationMinutes(), null, booking.getStatus());
+    }
+
+    public static BookingEvent statusChanged(Booking booking, Booking.BookingStatus previousStatus) {
+        return new BookingEvent(Type.STATUS_CHANGED, booking.getId(), booking.getCustomer().getId(),
+                booking.getStylist().getId(), booking.getBookingDateTime(),
+                booking.getService().getDurationMinutes(), previousStatus, booking.getStatus());
+    }
+
+    public static BookingEvent deleted(Booking booking) {
+        return new BookingEvent(Type.DELETED, booking.getId(), booking.getCustomer().getId(),
+                booking.getStylist().getId(), booking.getBookingDateTime(),
+                booking.getService().getDurationMinutes(), booking.getStatus(), null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public Long getStylistId() {
+        return stylistId;
+    }
+
+    public LocalDateTime getBookingDateTime() {
+        return bookingDateTime;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public Booking.BookingStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public Booking.BookingStatus getStatus() {
+        return status;
+    }
+
+    /** Whether the booking held the stylist's time before this event. */
+    public boolean wasOccupying() {
+        return previousStatus != null && previousStatus.occupiesSlot();
+    }
+
+    /** Whether the booking holds the stylist's time after this event. */
+    public boolean isOccupying() {
+        return status != null && status.occupiesSlot();
+    }
+}
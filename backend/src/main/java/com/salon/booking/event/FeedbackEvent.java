@@ -0,0 +1,49 @@
+package com.salon.booking.event;
+
+import com.salon.booking.entity.Feedback;
+
+/**
+ * Published by FeedbackService when feedback is created or deleted.
+ */
+public class FeedbackEvent {
+
+    public enum Type {
+        CREATED, DELETED
+    }
+
+    private final Type type;
+    private final Long feedbackId;
+    private final Long stylistId;
+    private final Integer rating;
+
+    public FeedbackEvent(Type type, Long feedbackId, Long stylistId, Integer rating) {
+        this.type = type;
+        this.feedbackId = feedbackId;
+        this.stylistId = stylistId;
+        this.rating = rating;
+    }
+
+    public static FeedbackEvent created(Feedback feedback) {
+        return new FeedbackEvent(Type.CREATED, feedback.getId(), feedback.getStylist().getId(), feedback.getRating());
+    }
+
+    public static FeedbackEvent deleted(Feedback feedback) {
+        return new FeedbackEvent(Type.DELETED, feedback.getId(), feedback.getStylist().getId(), feedback.getRating());
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getFeedbackId() {
+        return feedbackId;
+    }
+
+    public Long getStylistId() {
+        return stylistId;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+}
@@ -0,0 +1,47 @@
+package com.salon.booking.event;
+
+import com.salon.booking.entity.User;
+
+/**
+ * Published by UserService when an account is created, updated or deleted.
+ */
+public class UserEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Long userId;
+    private final User.Role role;
+
+    public UserEvent(Type type, Long userId, User.Role role) {
+        this.type = type;
+        this.userId = userId;
+        this.role = role;
+    }
+
+    public static UserEvent created(User user) {
+        return new UserEvent(Type.CREATED, user.getId(), user.getRole());
+    }
+
+    public static UserEvent updated(User user) {
+        return new UserEvent(Type.UPDATED, user.getId(), user.getRole());
+    }
+
+    public static UserEvent deleted(User user) {
+        return new UserEvent(Type.DELETED, user.getId(), user.getRole());
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public User.Role getRole() {
+        return role;
+    }
+}
@@ -0,0 +1,12 @@
+package com.salon.booking.exception;
+
+/**
+ * Thrown when a booking change collides with the current state of the stylist's schedule
+ * or of the booking itself. Controllers answer it with 409 Conflict.
+ */
+public class BookingConflictException extends RuntimeException {
+
+    public BookingConflictException(String message) {
+        super(message);
+    }
+}
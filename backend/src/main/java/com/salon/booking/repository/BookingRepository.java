@@ -1,32 +1,88 @@
 package com.salon.booking.repository;
 
+import com.salon.booking.dto.BookingSummary;
 import com.salon.booking.entity.Booking;
-import com.salon.booking.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByCustomer(User customer);
-    
-    List<Booking> findByStylist(User stylist);
-    
-    List<Booking> findByCustomerId(Long customerId);
-    
-    List<Booking> findByStylistId(Long stylistId);
-    
-    List<Booking> findByStatus(Booking.BookingStatus status);
-    
-    @Query("SELECT b FROM Booking b WHERE b.stylist.id = ?1 AND b.status = 'PENDING'")
-    List<Booking> findPendingBookingsByStylistId(Long stylistId);
-    
-    @Query("SELECT b FROM Booking b WHERE b.customer.id = ?1 ORDER BY b.bookingDateTime DESC")
-    List<Booking> findBookingHistoryByCustomerId(Long customerId);
+    String SUMMARY_SELECT = "SELECT new com.salon.booking.dto.BookingSummary(b.id, " +
+            "s.id, s.name, s.description, s.price, s.durationMinutes, " +
+            "st.id, st.name, st.email, st.specialization, c.id, c.name, c.email, " +
+            "b.bookingDateTime, b.status, b.notes, b.createdAt) " +
+            "FROM Booking b JOIN b.service s JOIN b.stylist st JOIN b.customer c ";
+
+    // Full dump for ExportService, which runs it with its own fetch size; null bounds match everything
+    String EXPORT_QUERY = SUMMARY_SELECT + "WHERE (:from IS NULL OR b.bookingDateTime >= :from) " +
+            "AND (:to IS NULL OR b.bookingDateTime < :to) ORDER BY b.id";
+
+    @Query(SUMMARY_SELECT + "WHERE b.id = ?1")
+    Optional<BookingSummary> findSummaryById(Long id);
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = ?1")
+    List<BookingSummary> findSummariesByCustomerId(Long customerId);
+
+    // Keyset pages ordered by (bookingDateTime, id) descending; null filters match everything.
+    // The first page and the pages after a cursor are separate queries so neither needs OFFSET.
+    String PAGE_FILTER = "WHERE (:status IS NULL OR b.status = :status) " +
+            "AND (:stylistId IS NULL OR st.id = :stylistId) AND (:customerId IS NULL OR c.id = :customerId) ";
+    String PAGE_ORDER = "ORDER BY b.bookingDateTime DESC, b.id DESC";
+
+    @Query(SUMMARY_SELECT + PAGE_FILTER + PAGE_ORDER)
+    List<BookingSummary> findSummaryPage(@Param("status") Booking.BookingStatus status,
+                                         @Param("stylistId") Long stylistId,
+                                         @Param("customerId") Long customerId,
+                                         Pageable pageable);
+
+    @Query(SUMMARY_SELECT + PAGE_FILTER +
+           "AND (b.bookingDateTime < :position OR (b.bookingDateTime = :position AND b.id < :id)) " + PAGE_ORDER)
+    List<BookingSummary> findSummaryPageAfter(@Param("status") Booking.BookingStatus status,
+                                              @Param("stylistId") Long stylistId,
+                                              @Param("customerId") Long customerId,
+                                              @Param("position") LocalDateTime position,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE st.id = ?1 AND b.status = 'PENDING'")
+    List<BookingSummary> findPendingSummariesByStylistId(Long stylistId);
+
+    // Loads what the status-change event and customer email need in one statement
+    @EntityGraph(attributePaths = {"customer", "stylist", "service", "feedback"})
+    @Query("SELECT b FROM Booking b WHERE b.id = ?1")
+    Optional<Booking> findWithPartiesById(Long id);
+
+    @EntityGraph(attributePaths = {"customer", "stylist", "service", "feedback"})
+    @Query("SELECT b FROM Booking b WHERE b.id IN ?1")
+    List<Booking> findWithPartiesByIdIn(Collection<Long> ids);
+
+    // Compare-and-set on the status: no row changes if another request moved the booking first.
+    // The persistence context is cleared so no stale copy of the booking gets flushed afterwards.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = ?3, b.updatedAt = ?4 WHERE b.id = ?1 AND b.status = ?2")
+    int updateStatusIfCurrent(Long id, Booking.BookingStatus expected, Booking.BookingStatus status,
+                              LocalDateTime updatedAt);
+
+    @Query("SELECT b.status, COUNT(b) FROM Booking b GROUP BY b.status")
+    List<Object[]> countByStatus();
     
-    @Query("SELECT b FROM Booking b WHERE b.bookingDateTime BETWEEN ?1 AND ?2")
-    List<Booking> findBookingsBetweenDates(LocalDateTime startDate, LocalDateTime endDate);
+    @Query("SELECT b FROM Booking b JOIN FETCH b.service LEFT JOIN FETCH b.feedback WHERE b.stylist.id = ?1 " +
+           "AND b.bookingDateTime >= ?2 AND b.bookingDateTime < ?3 AND b.status IN ?4")
+    List<Booking> findStylistBookingsInWindow(Long stylistId, LocalDateTime start, LocalDateTime end,
+                                              Collection<Booking.BookingStatus> statuses);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.service LEFT JOIN FETCH b.feedback WHERE b.stylist.id IN ?1 " +
+           "AND b.bookingDateTime >= ?2 AND b.bookingDateTime < ?3 AND b.status IN ?4")
+    List<Booking> findStylistsBookingsInWindow(Collection<Long> stylistIds, LocalDateTime start, LocalDateTime end,
+                                               Collection<Booking.BookingStatus> statuses);
 }
\ No newline at end of file
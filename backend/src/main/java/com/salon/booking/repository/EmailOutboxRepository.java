@@ -0,0 +1,50 @@
+package com.salon.booking.repository;
+
+import com.salon.booking.entity.EmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    @Query("SELECT e.id FROM EmailOutbox e WHERE e.status = 'PENDING' AND e.nextAttemptAt <= ?1 ORDER BY e.nextAttemptAt")
+    List<Long> findDueIds(LocalDateTime now, Pageable pageable);
+
+    // Only one worker (on any node) wins the PENDING -> SENDING transition for a message
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'SENDING', e.claimedAt = ?2 WHERE e.id = ?1 AND e.status = 'PENDING'")
+    int claim(Long id, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'PENDING', e.claimedAt = NULL WHERE e.id = ?1 AND e.status = 'SENDING'")
+    int release(Long id);
+
+    // Records a delivery outcome only while the claim made at claimedAt is still held: once
+    // releaseStaleClaims has re-queued the message, another worker's outcome must not be overwritten
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = ?3, e.attempts = ?4, e.nextAttemptAt = ?5, e.lastError = ?6, " +
+           "e.sentAt = ?7, e.claimedAt = NULL WHERE e.id = ?1 AND e.status = 'SENDING' AND e.claimedAt = ?2")
+    int finish(Long id, LocalDateTime claimedAt, EmailOutbox.Status status, int attempts,
+               LocalDateTime nextAttemptAt, String lastError, LocalDateTime sentAt);
+
+    // Claims left behind by a node that died mid-delivery
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'PENDING', e.claimedAt = NULL WHERE e.status = 'SENDING' AND e.claimedAt < ?1")
+    int releaseStaleClaims(LocalDateTime claimedBefore);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = 'SENT' AND e.sentAt < ?1")
+    int deleteSentBefore(LocalDateTime sentBefore);
+}
@@ -1,26 +1,57 @@
 package com.salon.booking.repository;
 
+import com.salon.booking.dto.FeedbackSummary;
 import com.salon.booking.entity.Feedback;
-import com.salon.booking.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
-    List<Feedback> findByCustomer(User customer);
-    
-    List<Feedback> findByStylist(User stylist);
-    
-    List<Feedback> findByCustomerId(Long customerId);
-    
-    List<Feedback> findByStylistId(Long stylistId);
-    
-    @Query("SELECT f FROM Feedback f ORDER BY f.createdAt DESC")
-    List<Feedback> findAllFeedbackOrderByCreatedAtDesc();
-    
+    String SUMMARY_SELECT = "SELECT new com.salon.booking.dto.FeedbackSummary(f.id, f.rating, f.comment, f.createdAt, " +
+            "c.id, c.name, c.email, st.id, st.name, st.email, st.specialization, " +
+            "b.id, b.bookingDateTime, b.status, s.id, s.name, s.description, s.price, s.durationMinutes) " +
+            "FROM Feedback f JOIN f.customer c JOIN f.stylist st JOIN f.booking b JOIN b.service s ";
+
+    // Full dump for ExportService, which runs it with its own fetch size; null bounds match everything
+    String EXPORT_QUERY = SUMMARY_SELECT + "WHERE (:from IS NULL OR f.createdAt >= :from) " +
+            "AND (:to IS NULL OR f.createdAt < :to) ORDER BY f.id";
+
+    // Keyset pages ordered by (createdAt, id) descending; null filters match everything
+    String PAGE_FILTER = "WHERE (:stylistId IS NULL OR st.id = :stylistId) " +
+            "AND (:customerId IS NULL OR c.id = :customerId) AND (:maxRating IS NULL OR f.rating <= :maxRating) ";
+    String PAGE_ORDER = "ORDER BY f.createdAt DESC, f.id DESC";
+
+    @Query(SUMMARY_SELECT + PAGE_FILTER + PAGE_ORDER)
+    List<FeedbackSummary> findSummaryPage(@Param("stylistId") Long stylistId,
+                                          @Param("customerId") Long customerId,
+                                          @Param("maxRating") Integer maxRating,
+                                          Pageable pageable);
+
+    @Query(SUMMARY_SELECT + PAGE_FILTER +
+           "AND (f.createdAt < :position OR (f.createdAt = :position AND f.id < :id)) " + PAGE_ORDER)
+    List<FeedbackSummary> findSummaryPageAfter(@Param("stylistId") Long stylistId,
+                                               @Param("customerId") Long customerId,
+                                               @Param("maxRating") Integer maxRating,
+                                               @Param("position") LocalDateTime position,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = ?1")
+    List<FeedbackSummary> findSummariesByCustomerId(Long customerId);
+
+    @Query(SUMMARY_SELECT + "WHERE st.id = ?1")
+    List<FeedbackSummary> findSummariesByStylistId(Long stylistId);
+
     @Query("SELECT AVG(f.rating) FROM Feedback f WHERE f.stylist.id = ?1")
     Double getAverageRatingByStylistId(Long stylistId);
+
+    @Query("SELECT f.stylist.id, f.rating, COUNT(f) FROM Feedback f WHERE f.stylist.id IN ?1 GROUP BY f.stylist.id, f.rating")
+    List<Object[]> countRatingsByStylistIds(Collection<Long> stylistIds);
 }
\ No newline at end of file
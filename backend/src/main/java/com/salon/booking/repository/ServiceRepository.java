@@ -1,20 +1,36 @@
 package com.salon.booking.repository;
 
+import com.salon.booking.dto.ServiceSummary;
 import com.salon.booking.entity.Service;
-import com.salon.booking.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ServiceRepository extends JpaRepository<Service, Long> {
-    List<Service> findByStylist(User stylist);
-    
-    @Query("SELECT s FROM Service s WHERE s.stylist.id = ?1 ORDER BY s.createdAt DESC")
-    List<Service> findByStylistId(Long stylistId);
-    
-    @Query("SELECT s FROM Service s WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', ?1, '%')) ORDER BY s.name")
-    List<Service> findByNameContainingIgnoreCase(String name);
+    String SUMMARY_SELECT = "SELECT new com.salon.booking.dto.ServiceSummary(s.id, s.name, s.description, s.price, " +
+            "s.durationMinutes, s.createdAt, st.id, st.name, st.email, st.specialization) " +
+            "FROM Service s JOIN s.stylist st ";
+
+    // Ordered by the primary key so the whole-catalog read walks the clustered index
+    @Query(SUMMARY_SELECT + "ORDER BY s.id")
+    List<ServiceSummary> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE s.id = ?1")
+    Optional<ServiceSummary> findSummaryById(Long id);
+
+    @Query(SUMMARY_SELECT + "WHERE st.id = ?1 ORDER BY s.createdAt DESC")
+    List<ServiceSummary> findSummariesByStylistId(Long stylistId);
+
+    // The stored owner, whatever a loaded copy of the service has been changed to since
+    @Query("SELECT s.stylist.id FROM Service s WHERE s.id = ?1")
+    Optional<Long> findStylistIdById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = {"stylist"})
+    List<Service> findAll();
 }
\ No newline at end of file
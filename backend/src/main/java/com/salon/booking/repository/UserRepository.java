@@ -1,21 +1,85 @@
 package com.salon.booking.repository;
 
+import com.salon.booking.dto.CustomerActivity;
+import com.salon.booking.dto.UserSummary;
+import com.salon.booking.config.HibernateCacheConfig;
 import com.salon.booking.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    String SUMMARY_SELECT = "SELECT new com.salon.booking.dto.UserSummary(u.id, u.name, u.email, u.role, " +
+            "u.specialization, u.createdAt) FROM User u ";
+
+    // Keyset pages ordered by (createdAt, id) descending; a null role matches everyone
+    String PAGE_FILTER = "WHERE (:role IS NULL OR u.role = :role) ";
+    String PAGE_ORDER = "ORDER BY u.createdAt DESC, u.id DESC";
+
+    @Query(SUMMARY_SELECT + PAGE_FILTER + PAGE_ORDER)
+    List<UserSummary> findSummaryPage(@Param("role") User.Role role, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + PAGE_FILTER +
+           "AND (u.createdAt < :position OR (u.createdAt = :position AND u.id < :id)) " + PAGE_ORDER)
+    List<UserSummary> findSummaryPageAfter(@Param("role") User.Role role,
+                                           @Param("position") LocalDateTime position,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE u.id = ?1")
+    Optional<UserSummary> findSummaryById(Long id);
+
+    @Query(SUMMARY_SELECT + "WHERE u.role = ?1 ORDER BY u.createdAt DESC")
+    List<UserSummary> findSummariesByRole(User.Role role);
+
+    // One row per customer of the stylist, aggregated in the database; the stylist's bookings
+    // are found through idx_bookings_stylist_status_datetime. Pageable sorts must be JpaSort.unsafe
+    // expressions over the aggregates (see UserService.getCustomersOfStylist).
+    @Query(value = "SELECT new com.salon.booking.dto.CustomerActivity(u.id, u.name, u.email, COUNT(b), " +
+                   "SUM(CASE WHEN b.status = 'COMPLETED' THEN 1 ELSE 0 END), MAX(b.bookingDateTime), " +
+                   "MAX(CASE WHEN b.status = 'COMPLETED' THEN b.bookingDateTime END), " +
+                   "COALESCE(SUM(CASE WHEN b.status = 'COMPLETED' THEN s.price END), 0)) " +
+                   "FROM Booking b JOIN b.customer u JOIN b.service s WHERE b.stylist.id = ?1 " +
+                   "GROUP BY u.id, u.name, u.email",
+           countQuery = "SELECT COUNT(DISTINCT b.customer.id) FROM Booking b WHERE b.stylist.id = ?1")
+    Page<CustomerActivity> findCustomerActivityByStylistId(Long stylistId, Pageable pageable);
+
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = ?1")
+    Optional<User> findByIdForUpdate(Long id);
+
+    // Rows are locked in id order so concurrent multi-stylist bookings cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id IN ?1 ORDER BY u.id")
+    List<User> findAllByIdForUpdate(Collection<Long> ids);
     
     List<User> findByRole(User.Role role);
+
+    long countByRole(User.Role role);
     
+    // The stylist roster changes rarely; cached results are dropped on any write to users
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.STYLISTS_QUERY_REGION)
+    })
     @Query("SELECT u FROM User u WHERE u.role = 'STYLIST' ORDER BY u.createdAt DESC")
     List<User> findAllStylists();
     
@@ -0,0 +1,83 @@
+package com.salon.booking.repository.reactive;
+
+import com.salon.booking.dto.BookingSummary;
+import com.salon.booking.entity.Booking;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// R2DBC counterpart of the BookingRepository summary queries, for the reactive read server
+@Repository
+@ConditionalOnProperty(name = "salon.reactive.enabled", havingValue = "true")
+public class ReactiveBookingRepository {
+    static final String SUMMARY_SELECT = "SELECT b.id, " +
+            "s.id AS service_id, s.name AS service_name, s.description AS service_description, " +
+            "s.price AS service_price, s.duration_minutes AS service_duration_minutes, " +
+            "st.id AS stylist_id, st.name AS stylist_name, st.email AS stylist_email, " +
+            "st.specialization AS stylist_specialization, " +
+            "c.id AS customer_id, c.name AS customer_name, c.email AS customer_email, " +
+            "b.booking_datetime, b.status, b.notes, b.created_at " +
+            "FROM bookings b JOIN services s ON s.id = b.service_id " +
+            "JOIN users st ON st.id = b.stylist_id JOIN users c ON c.id = b.customer_id ";
+    static final String PAGE_ORDER = "ORDER BY b.booking_datetime DESC, b.id DESC ";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Flux<BookingSummary> findSummariesByCustomerId(Long customerId) {
+        return databaseClient.sql(SUMMARY_SELECT + "WHERE b.customer_id = :customerId")
+                .bind("customerId", customerId)
+                .map(ReactiveBookingRepository::toSummary)
+                .all();
+    }
+
+    // Keyset page of a customer's bookings, newest first; position/id are null for the first page.
+    // Filters are only added when set so every variant can use idx_bookings_customer_datetime.
+    public Flux<BookingSummary> findCustomerPage(Long customerId, Booking.BookingStatus status,
+                                                 LocalDateTime position, Long id, int limit) {
+        StringBuilder sql = new StringBuilder(SUMMARY_SELECT).append("WHERE b.customer_id = :customerId ");
+        if (status != null) {
+            // An enum constant, so safe to inline; bound strings do not compare to ENUM columns everywhere
+            sql.append("AND b.status = '").append(status.name()).append("' ");
+        }
+        if (position != null) {
+            sql.append("AND (b.booking_datetime < :position OR (b.booking_datetime = :position AND b.id < :id)) ");
+        }
+        sql.append(PAGE_ORDER).append("LIMIT :limit");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("customerId", customerId)
+                .bind("limit", limit);
+        if (position != null) {
+            spec = spec.bind("position", position).bind("id", id);
+        }
+        return spec.map(ReactiveBookingRepository::toSummary).all();
+    }
+
+    private static BookingSummary toSummary(Readable row) {
+        return new BookingSummary(
+                row.get("id", Long.class),
+                row.get("service_id", Long.class),
+                row.get("service_name", String.class),
+                row.get("service_description", String.class),
+                row.get("service_price", BigDecimal.class),
+                row.get("service_duration_minutes", Integer.class),
+                row.get("stylist_id", Long.class),
+                row.get("stylist_name", String.class),
+                row.get("stylist_email", String.class),
+                row.get("stylist_specialization", String.class),
+                row.get("customer_id", Long.class),
+                row.get("customer_name", String.class),
+                row.get("customer_email", String.class),
+                row.get("booking_datetime", LocalDateTime.class),
+                Booking.BookingStatus.valueOf(row.get("status", String.class)),
+                row.get("notes", String.class),
+                row.get("created_at", LocalDateTime.class));
+    }
+}
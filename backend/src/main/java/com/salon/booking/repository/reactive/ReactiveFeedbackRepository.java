@@ -0,0 +1,28 @@
+package com.salon.booking.repository.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+// R2DBC counterpart of FeedbackRepository.countRatingsByStylistIds, for the reactive read server
+@Repository
+@ConditionalOnProperty(name = "salon.reactive.enabled", havingValue = "true")
+public class ReactiveFeedbackRepository {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    // Number of ratings per star value; answered from idx_feedback_stylist_rating alone
+    public Mono<Map<Integer, Long>> countRatingsByStylistId(Long stylistId) {
+        return databaseClient.sql("SELECT f.rating, COUNT(*) AS total FROM feedback f " +
+                        "WHERE f.stylist_id = :stylistId GROUP BY f.rating")
+                .bind("stylistId", stylistId)
+                .map(row -> Map.entry(row.get("rating", Integer.class), row.get("total", Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+}
@@ -0,0 +1,52 @@
+package com.salon.booking.repository.reactive;
+
+import com.salon.booking.dto.ServiceSummary;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// R2DBC counterpart of the ServiceRepository summary queries, for the reactive read server
+@Repository
+@ConditionalOnProperty(name = "salon.reactive.enabled", havingValue = "true")
+public class ReactiveServiceRepository {
+    static final String SUMMARY_SELECT = "SELECT s.id, s.name, s.description, s.price, s.duration_minutes, " +
+            "s.created_at, st.id AS stylist_id, st.name AS stylist_name, st.email AS stylist_email, " +
+            "st.specialization AS stylist_specialization " +
+            "FROM services s JOIN users st ON st.id = s.stylist_id ";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Flux<ServiceSummary> findAllSummaries() {
+        return databaseClient.sql(SUMMARY_SELECT)
+                .map(ReactiveServiceRepository::toSummary)
+                .all();
+    }
+
+    public Flux<ServiceSummary> findSummariesByStylistId(Long stylistId) {
+        return databaseClient.sql(SUMMARY_SELECT + "WHERE st.id = :stylistId ORDER BY s.created_at DESC")
+                .bind("stylistId", stylistId)
+                .map(ReactiveServiceRepository::toSummary)
+                .all();
+    }
+
+    private static ServiceSummary toSummary(Readable row) {
+        return new ServiceSummary(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("price", BigDecimal.class),
+                row.get("duration_minutes", Integer.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("stylist_id", Long.class),
+                row.get("stylist_name", String.class),
+                row.get("stylist_email", String.class),
+                row.get("stylist_specialization", String.class));
+    }
+}
@@ -0,0 +1,39 @@
+package com.salon.booking.repository.reactive;
+
+import com.salon.booking.dto.UserSummary;
+import com.salon.booking.entity.User;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+// R2DBC counterpart of the UserRepository summary queries, for the reactive read server
+@Repository
+@ConditionalOnProperty(name = "salon.reactive.enabled", havingValue = "true")
+public class ReactiveUserRepository {
+    static final String SUMMARY_SELECT = "SELECT u.id, u.name, u.email, u.role, u.specialization, u.created_at " +
+            "FROM users u ";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Flux<UserSummary> findAllStylists() {
+        return databaseClient.sql(SUMMARY_SELECT + "WHERE u.role = 'STYLIST' ORDER BY u.created_at DESC")
+                .map(ReactiveUserRepository::toSummary)
+                .all();
+    }
+
+    private static UserSummary toSummary(Readable row) {
+        return new UserSummary(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("email", String.class),
+                User.Role.valueOf(row.get("role", String.class)),
+                row.get("specialization", String.class),
+                row.get("created_at", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,430 @@
+package com.salon.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.salon.booking.entity.Booking;
+import com.salon.booking.entity.Service;
+import com.salon.booking.entity.User;
+import com.salon.booking.event.BookingEvent;
+import com.salon.booking.repository.BookingRepository;
+import com.salon.booking.repository.ServiceRepository;
+import com.salon.booking.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * In-memory index of each stylist's occupied time, one bitmap per stylist per day.
+ * A day is loaded from the database the first time it is asked for; new bookings are then marked
+ * from booking events, and a released booking has its days reloaded, so availability lookups
+ * rarely rescan a stylist's bookings.
+ * Calendars not read for a while are dropped, as are days already in the past, and are simply
+ * loaded again when next asked for.
+ */
+@org.springframework.stereotype.Service
+public class AvailabilityService {
+
+    private static final int MAX_RANGE_DAYS = 31;
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+    private static final int SEARCH_TASKS_PER_CALL = 64;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    @Qualifier("availabilitySearchExecutor")
+    private Executor searchExecutor;
+
+    @Value("${salon.availability.slot-minutes:15}")
+    private int slotMinutes;
+
+    @Value("${salon.hours.open:09:00}")
+    private String openingTime;
+
+    @Value("${salon.hours.close:18:00}")
+    private String closingTime;
+
+    @Value("${salon.availability.max-calendars:10000}")
+    private long maxCalendars;
+
+    @Value("${salon.availability.max-days-per-calendar:180}")
+    private int maxDaysPerCalendar;
+
+    @Value("${salon.availability.calendar-idle-minutes:60}")
+    private long calendarIdleMinutes;
+
+    private int slotsPerDay;
+    private int openingSlot;
+    private int closingSlot;
+
+    private Cache<Long, StylistCalendar> calendars;
+
+    @PostConstruct
+    void init() {
+        if (slotMinutes <= 0 || (24 * 60) % slotMinutes != 0) {
+            throw new IllegalStateException("salon.availability.slot-minutes must divide a day evenly");
+        }
+        slotsPerDay = 24 * 60 / slotMinutes;
+        openingSlot = ceilDiv(LocalTime.parse(openingTime).toSecondOfDay() / 60, slotMinutes);
+        closingSlot = LocalTime.parse(closingTime).toSecondOfDay() / 60 / slotMinutes;
+        // An evicted calendar only costs a reload; events for stylists without one are ignored
+        calendars = Caffeine.newBuilder()
+                .maximumSize(maxCalendars)
+                .expireAfterAccess(Duration.ofMinutes(calendarIdleMinutes))
+                .build();
+    }
+
+    public Map<String, Object> getAvailability(Long stylistId, Long serviceId, LocalDate from, LocalDate to) {
+        Service service = serviceRepository.findById(serviceId)
+                .orElseThrow(() -> new RuntimeException("Service not found"));
+        if (!service.getStylist().getId().equals(stylistId)) {
+            throw new RuntimeException("Service is not offered by this stylist");
+        }
+
+        LocalDate end = to != null ? to : from.plusDays(6);
+        if (end.isBefore(from)) {
+            throw new RuntimeException("'to' must not be before 'from'");
+        }
+        if (end.isAfter(from.plusDays(MAX_RANGE_DAYS - 1))) {
+            throw new RuntimeException("Availability can be requested for at most " + MAX_RANGE_DAYS + " days");
+        }
+
+        List<LocalDateTime> slots = findFreeSlots(stylistId, from, end, service.getDurationMinutes());
+        return Map.of(
+                "stylistId", stylistId,
+                "serviceId", serviceId,
+                "durationMinutes", service.getDurationMinutes(),
+                "slotMinutes", slotMinutes,
+                "slots", slots
+        );
+    }
+
+    /**
+     * Start times between {@code from} and {@code to} (inclusive) at which the stylist is free
+     * for {@code durationMinutes} within opening hours. Times in the past are skipped.
+     */
+    public List<LocalDateTime> findFreeSlots(Long stylistId, LocalDate from, LocalDate to, int durationMinutes) {
+        return findFreeSlots(stylistId, from, to, durationMinutes, Integer.MAX_VALUE);
+    }
+
+    public List<LocalDateTime> findFreeSlots(Long stylistId, LocalDate from, LocalDate to, int durationMinutes, int limit) {
+        Map<LocalDate, BitSet> days = snapshot(stylistId, from, to);
+        int needed = ceilDiv(durationMinutes, slotMinutes);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<LocalDateTime> slots = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to) && slots.size() < limit; day = day.plusDays(1)) {
+            BitSet occupied = days.get(day);
+            int slot = openingSlot;
+            while (slot + needed <= closingSlot && slots.size() < limit) {
+                int busy = occupied.nextSetBit(slot);
+                if (busy != -1 && busy < slot + needed) {
+                    slot = busy + 1;
+                    continue;
+                }
+                LocalDateTime start = day.atStartOfDay().plusMinutes((long) slot * slotMinutes);
+                if (start.isAfter(now)) {
+                    slots.add(start);
+                }
+                slot++;
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * The {@code limit} earliest open slots from {@code from} onwards across every stylist offering a
+     * matching service. Calendars are warmed with one query for all candidate stylists, then each
+     * stylist is searched in parallel and the per-stylist results are merged.
+     */
+    public List<Map<String, Object>> findEarliestSlots(String serviceName, String specialization,
+                                                       LocalDate from, int days, int limit) {
+        boolean byService = serviceName != null && !serviceName.isBlank();
+        boolean bySpecialization = specialization != null && !specialization.isBlank();
+        if (!byService && !bySpecialization) {
+            throw new RuntimeException("A service name or specialization is required");
+        }
+        if (days < 1 || days > MAX_RANGE_DAYS) {
+            throw new RuntimeException("Search window must be between 1 and " + MAX_RANGE_DAYS + " days");
+        }
+
+        Map<Long, User> stylists = new HashMap<>();
+        for (User stylist : userRepository.findAllStylists()) {
+            if (!bySpecialization || containsIgnoreCase(stylist.getSpecialization(), specialization)) {
+                stylists.put(stylist.getId(), stylist);
+            }
+        }
+        // A name fragment can match anywhere in the name, which no index serves, so the (small)
+        // catalog is filtered here the same way as the stylists above
+        List<Candidate> candidates = new ArrayList<>();
+        for (Service service : serviceRepository.findAll()) {
+            User stylist = stylists.get(service.getStylist().getId());
+            if (stylist != null && (!byService || containsIgnoreCase(service.getName(), serviceName))) {
+                candidates.add(new Candidate(stylist, service));
+            }
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDate to = from.plusDays(days - 1);
+        preload(candidates.stream().map(c -> c.stylist().getId()).distinct().toList(), from, to);
+
+        // Scatter: one task per chunk of candidates, each returning its own earliest slots
+        int chunkSize = Math.max(1, ceilDiv(candidates.size(), SEARCH_TASKS_PER_CALL));
+        List<CompletableFuture<List<CandidateSlot>>> tasks = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i += chunkSize) {
+            List<Candidate> chunk = candidates.subList(i, Math.min(i + chunkSize, candidates.size()));
+            tasks.add(CompletableFuture.supplyAsync(() -> earliestSlots(chunk, from, to, limit), searchExecutor));
+        }
+
+        // Gather: merge the partial results and keep the overall earliest
+        return tasks.stream()
+                .flatMap(task -> task.join().stream())
+                .sorted(Comparator.comparing(CandidateSlot::start)
+                        .thenComparing(slot -> slot.candidate().stylist().getId()))
+                .limit(limit)
+                .map(CandidateSlot::toResponse)
+                .toList();
+    }
+
+    private List<CandidateSlot> earliestSlots(List<Candidate> chunk, LocalDate from, LocalDate to, int limit) {
+        List<CandidateSlot> found = new ArrayList<>();
+        for (Candidate candidate : chunk) {
+            for (LocalDateTime start : findFreeSlots(candidate.stylist().getId(), from, to,
+                    candidate.service().getDurationMinutes(), limit)) {
+                found.add(new CandidateSlot(candidate, start));
+            }
+        }
+        found.sort(Comparator.comparing(CandidateSlot::start));
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    // Loads the missing days of many stylists' calendars with a single query
+    private void preload(List<Long> stylistIds, LocalDate from, LocalDate to) {
+        Map<Long, Long> versions = new HashMap<>();
+        for (Long stylistId : stylistIds) {
+            StylistCalendar calendar = calendars.get(stylistId, id -> new StylistCalendar());
+            synchronized (calendar) {
+                for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                    if (!calendar.days.containsKey(day)) {
+                        versions.put(stylistId, calendar.version);
+                        break;
+                    }
+                }
+            }
+        }
+        if (versions.isEmpty()) {
+            return;
+        }
+
+        List<LocalDate> days = from.datesUntil(to.plusDays(1)).toList();
+        Map<Long, Map<LocalDate, BitSet>> loaded = new HashMap<>();
+        for (Long stylistId : versions.keySet()) {
+            Map<LocalDate, BitSet> stylistDays = new HashMap<>();
+            days.forEach(day -> stylistDays.put(day, new BitSet(slotsPerDay)));
+            loaded.put(stylistId, stylistDays);
+        }
+        List<Booking> bookings = bookingRepository.findStylistsBookingsInWindow(versions.keySet(),
+                from.minusDays(1).atStartOfDay(), to.plusDays(1).atStartOfDay(), Booking.BookingStatus.occupying());
+        for (Booking booking : bookings) {
+            mark(loaded.get(booking.getStylist().getId()), booking.getBookingDateTime(),
+                    booking.getService().getDurationMinutes());
+        }
+
+        loaded.forEach((stylistId, stylistDays) -> {
+            StylistCalendar calendar = calendars.getIfPresent(stylistId);
+            if (calendar == null) {
+                return;
+            }
+            synchronized (calendar) {
+                // Calendars that changed meanwhile are left to the per-stylist load
+                if (calendar.version == versions.get(stylistId)) {
+                    install(calendar, stylistDays);
+                }
+            }
+        });
+    }
+
+    private static boolean containsIgnoreCase(String value, String fragment) {
+        return value != null && value.toLowerCase().contains(fragment.trim().toLowerCase());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        if (event.wasOccupying() == event.isOccupying()) {
+            return;
+        }
+        StylistCalendar calendar = calendars.getIfPresent(event.getStylistId());
+        if (calendar == null) {
+            return;
+        }
+        synchronized (calendar) {
+            calendar.version++;
+            if (event.isOccupying()) {
+                mark(calendar.days, event.getBookingDateTime(), event.getDurationMinutes());
+            } else {
+                // Clearing bits could free a boundary slot a neighbouring booking still covers, and
+                // the service's duration may have changed since, so the days are reloaded instead.
+                // The next day too, for a booking that ran past midnight
+                LocalDate day = event.getBookingDateTime().toLocalDate();
+                calendar.days.remove(day);
+                calendar.days.remove(day.plusDays(1));
+            }
+        }
+    }
+
+    // Drops the days before yesterday from every calendar
+    @Scheduled(cron = "${salon.availability.prune-cron:0 5 0 * * *}")
+    public void prunePastDays() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        calendars.asMap().values().forEach(calendar -> {
+            synchronized (calendar) {
+                calendar.days.keySet().removeIf(day -> day.isBefore(yesterday));
+            }
+        });
+    }
+
+    // Copies the requested days out of the stylist's calendar, loading any that are missing
+    private Map<LocalDate, BitSet> snapshot(Long stylistId, LocalDate from, LocalDate to) {
+        StylistCalendar calendar = calendars.get(stylistId, id -> new StylistCalendar());
+        for (int attempt = 1; ; attempt++) {
+            List<LocalDate> missing = new ArrayList<>();
+            Map<LocalDate, BitSet> copy = new HashMap<>();
+            long version;
+            synchronized (calendar) {
+                for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                    BitSet bits = calendar.days.get(day);
+                    if (bits == null) {
+                        missing.add(day);
+                    } else {
+                        copy.put(day, (BitSet) bits.clone());
+                    }
+                }
+                if (missing.isEmpty()) {
+                    return copy;
+                }
+                version = calendar.version;
+            }
+
+            Map<LocalDate, BitSet> loaded = load(stylistId, missing);
+
+            synchronized (calendar) {
+                if (calendar.version == version) {
+                    install(calendar, loaded);
+                    loaded.forEach((day, bits) -> copy.put(day, (BitSet) bits.clone()));
+                    return copy;
+                }
+            }
+            // A booking event landed while we were querying, so the loaded days may miss it and
+            // must not be cached. Reload; if events keep arriving, answer from this load alone
+            if (attempt == MAX_LOAD_ATTEMPTS) {
+                copy.putAll(loaded);
+                return copy;
+            }
+        }
+    }
+
+    // Adds loaded days the calendar does not have yet, keeping at most maxDaysPerCalendar days
+    // around today so requests for arbitrary dates cannot grow it without bound
+    private void install(StylistCalendar calendar, Map<LocalDate, BitSet> loaded) {
+        LocalDate today = LocalDate.now();
+        calendar.days.keySet().removeIf(day -> day.isBefore(today.minusDays(1)));
+        loaded.forEach(calendar.days::putIfAbsent);
+        if (calendar.days.size() > maxDaysPerCalendar) {
+            calendar.days.keySet().stream()
+                    .sorted(Comparator.comparingLong((LocalDate day) -> Math.abs(day.toEpochDay() - today.toEpochDay()))
+                            .reversed())
+                    .limit(calendar.days.size() - maxDaysPerCalendar)
+                    .toList()
+                    .forEach(calendar.days::remove);
+        }
+    }
+
+    private Map<LocalDate, BitSet> load(Long stylistId, List<LocalDate> days) {
+        Map<LocalDate, BitSet> loaded = new HashMap<>();
+        for (LocalDate day : days) {
+            loaded.put(day, new BitSet(slotsPerDay));
+        }
+        // Start one day early to pick up bookings that run past midnight
+        LocalDateTime windowStart = days.get(0).minusDays(1).atStartOfDay();
+        LocalDateTime windowEnd = days.get(days.size() - 1).plusDays(1).atStartOfDay();
+        List<Booking> bookings = bookingRepository.findStylistBookingsInWindow(
+                stylistId, windowStart, windowEnd, Booking.BookingStatus.occupying());
+        for (Booking booking : bookings) {
+            mark(loaded, booking.getBookingDateTime(), booking.getService().getDurationMinutes());
+        }
+        return loaded;
+    }
+
+    // Sets the slots touched by [start, start + duration) on whichever of those days are present
+    private void mark(Map<LocalDate, BitSet> days, LocalDateTime start, int durationMinutes) {
+        LocalDateTime end = start.plusMinutes(durationMinutes);
+        LocalDateTime cursor = start;
+        while (cursor.isBefore(end)) {
+            LocalDate day = cursor.toLocalDate();
+            LocalDateTime nextDay = day.plusDays(1).atStartOfDay();
+            LocalDateTime segmentEnd = end.isBefore(nextDay) ? end : nextDay;
+            BitSet bits = days.get(day);
+            if (bits != null) {
+                int fromSlot = cursor.toLocalTime().toSecondOfDay() / 60 / slotMinutes;
+                int toSlot = segmentEnd.equals(nextDay)
+                        ? slotsPerDay
+                        : ceilDiv(segmentEnd.toLocalTime().toSecondOfDay() / 60, slotMinutes);
+                bits.set(fromSlot, toSlot);
+            }
+            cursor = segmentEnd;
+        }
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    private record Candidate(User stylist, Service service) {
+    }
+
+    private record CandidateSlot(Candidate candidate, LocalDateTime start) {
+        Map<String, Object> toResponse() {
+            User stylist = candidate.stylist();
+            Service service = candidate.service();
+            return Map.of(
+                    "stylistId", stylist.getId(),
+                    "stylistName", stylist.getName(),
+                    "specialization", stylist.getSpecialization() != null ? stylist.getSpecialization() : "",
+                    "serviceId", service.getId(),
+                    "serviceName", service.getName(),
+                    "durationMinutes", service.getDurationMinutes(),
+                    "price", service.getPrice(),
+                    "start", start
+            );
+        }
+    }
+
+    private static class StylistCalendar {
+        private final Map<LocalDate, BitSet> days = new HashMap<>();
+        private long version;
+    }
+}
@@ -0,0 +1,344 @@
+package com.salon.booking.service;
+
+import com.salon.booking.dto.BookingSummary;
+import com.salon.booking.dto.BookingUpdate;
+import com.salon.booking.event.BookingEvent;
+import com.salon.booking.repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Server-sent event streams of booking changes for stylist and customer dashboards. Streams are
+ * async servlet responses, so an idle connection holds no request thread. The single
+ * sseDispatchExecutor thread loads each committed change and appends it, in commit order, to the
+ * bounded backlog of every interested stream; it never writes to a socket. Each backlog is
+ * drained by at most one sseWriteExecutor task at a time, so a stream's events stay in order
+ * while a slow client only holds up its own stream (and one writer thread). A stream whose
+ * backlog overflows, or whose current write has been blocked past the write timeout, is closed;
+ * its client reconnects and reloads. Dropped events are counted in salon.sse.events.dropped by
+ * reason: backlog_overflow and write_timeout for slow clients, stream_closed for clients that went
+ * away, dispatch_queue_full when the dispatcher falls behind.
+ */
+@Component
+public class BookingEventStream {
+
+    private static final String BOOKING_EVENT = "booking";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    @Qualifier("sseDispatchExecutor")
+    private Executor dispatchExecutor;
+
+    @Autowired
+    @Qualifier("sseWriteExecutor")
+    private Executor writeExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${salon.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${salon.sse.max-streams-per-user:5}")
+    private int maxStreamsPerUser;
+
+    @Value("${salon.sse.reconnect-ms:3000}")
+    private long reconnectMs;
+
+    @Value("${salon.sse.stream-queue-capacity:100}")
+    private int streamQueueCapacity;
+
+    @Value("${salon.sse.write-timeout-ms:10000}")
+    private long writeTimeoutMs;
+
+    private final Map<Long, Queue<Stream>> stylistStreams = new ConcurrentHashMap<>();
+    private final Map<Long, Queue<Stream>> customerStreams = new ConcurrentHashMap<>();
+
+    private Counter droppedOnFullDispatchQueue;
+    private Counter droppedOnClosedStream;
+    private Counter droppedOnBacklogOverflow;
+    private Counter droppedOnWriteTimeout;
+    private Counter stalledStreams;
+
+    public SseEmitter subscribeStylist(Long stylistId) {
+        return subscribe(stylistStreams, stylistId);
+    }
+
+    public SseEmitter subscribeCustomer(Long customerId) {
+        return subscribe(customerStreams, customerId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        if (!stylistStreams.containsKey(event.getStylistId()) && !customerStreams.containsKey(event.getCustomerId())) {
+            return;
+        }
+        try {
+            dispatchExecutor.execute(() -> publish(event));
+        } catch (RejectedExecutionException e) {
+            // Dashboards resync on their next load; never hold up the committing thread
+            droppedOnFullDispatchQueue.increment();
+        }
+    }
+
+    // Comments keep proxies from closing idle streams and expose connections that have gone away.
+    // A stream with a backlog is already being written to and needs no ping.
+    @Scheduled(fixedDelayString = "${salon.sse.heartbeat-ms:25000}",
+               initialDelayString = "${salon.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        forEachStream(Stream::ping);
+    }
+
+    // A write blocked this long means the client stopped reading; the stream is closed and its
+    // writer thread is released once the container's socket write timeout fails the write
+    @Scheduled(fixedDelayString = "${salon.sse.stall-check-ms:1000}")
+    public void closeStalledStreams() {
+        long now = System.nanoTime();
+        forEachStream(stream -> {
+            if (stream.stalledAt(now)) {
+                stalledStreams.increment();
+                stream.close(null, droppedOnWriteTimeout);
+            }
+        });
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("salon.sse.streams", stylistStreams, BookingEventStream::countStreams)
+                .description("Open booking event streams")
+                .tag("role", "stylist")
+                .register(meterRegistry);
+        Gauge.builder("salon.sse.streams", customerStreams, BookingEventStream::countStreams)
+                .description("Open booking event streams")
+                .tag("role", "customer")
+                .register(meterRegistry);
+        droppedOnFullDispatchQueue = droppedEvents("dispatch_queue_full");
+        droppedOnClosedStream = droppedEvents("stream_closed");
+        droppedOnBacklogOverflow = droppedEvents("backlog_overflow");
+        droppedOnWriteTimeout = droppedEvents("write_timeout");
+        stalledStreams = Counter.builder("salon.sse.streams.stalled")
+                .description("Streams closed because a write stayed blocked past the write timeout")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void closeAll() {
+        forEachStream(stream -> stream.close(null, droppedOnClosedStream));
+    }
+
+    private Counter droppedEvents(String reason) {
+        return Counter.builder("salon.sse.events.dropped")
+                .description("Booking events and pings not delivered to a stream")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private SseEmitter subscribe(Map<Long, Queue<Stream>> streamsByUser, Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Stream stream = new Stream(emitter, streamsByUser, userId);
+        emitter.onCompletion(() -> remove(streamsByUser, userId, stream));
+        emitter.onTimeout(() -> remove(streamsByUser, userId, stream));
+        emitter.onError(e -> remove(streamsByUser, userId, stream));
+
+        Queue<Stream> streams = streamsByUser.compute(userId, (id, existing) -> {
+            Queue<Stream> queue = existing != null ? existing : new ConcurrentLinkedQueue<>();
+            queue.add(stream);
+            return queue;
+        });
+        // A user with many tabs (or a leaking client) only keeps the newest streams
+        while (streams.size() > maxStreamsPerUser) {
+            Stream oldest = streams.poll();
+            if (oldest != null) {
+                oldest.close(null, droppedOnClosedStream);
+            }
+        }
+
+        // Sent before the handler returns, so it is buffered rather than written here
+        try {
+            emitter.send(SseEmitter.event().comment("connected").reconnectTime(reconnectMs));
+        } catch (IOException e) {
+            stream.close(e, droppedOnClosedStream);
+        }
+        return emitter;
+    }
+
+    private void publish(BookingEvent event) {
+        BookingSummary booking = event.getType() == BookingEvent.Type.DELETED
+                ? null
+                : bookingRepository.findSummaryById(event.getBookingId()).orElse(null);
+        BookingUpdate update = new BookingUpdate(event.getType(), event.getBookingId(),
+                event.getPreviousStatus(), event.getStatus(), booking);
+        offerAll(stylistStreams, event.getStylistId(),
+                () -> SseEmitter.event().name(BOOKING_EVENT).data(update, MediaType.APPLICATION_JSON));
+        offerAll(customerStreams, event.getCustomerId(),
+                () -> SseEmitter.event().name(BOOKING_EVENT).data(update, MediaType.APPLICATION_JSON));
+    }
+
+    // Builders accumulate state when sent, so each emitter gets a fresh one
+    private static void offerAll(Map<Long, Queue<Stream>> streamsByUser, Long userId,
+                                 Supplier<SseEmitter.SseEventBuilder> event) {
+        Queue<Stream> streams = streamsByUser.get(userId);
+        if (streams != null) {
+            streams.forEach(stream -> stream.offer(event));
+        }
+    }
+
+    private void forEachStream(Consumer<Stream> action) {
+        stylistStreams.values().forEach(streams -> streams.forEach(action));
+        customerStreams.values().forEach(streams -> streams.forEach(action));
+    }
+
+    private static int countStreams(Map<Long, Queue<Stream>> streamsByUser) {
+        return streamsByUser.values().stream().mapToInt(Queue::size).sum();
+    }
+
+    private static SseEmitter.SseEventBuilder ping() {
+        return SseEmitter.event().comment("ping");
+    }
+
+    private static void remove(Map<Long, Queue<Stream>> streamsByUser, Long userId, Stream stream) {
+        streamsByUser.computeIfPresent(userId, (id, streams) -> {
+            streams.remove(stream);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    /** One open emitter with its own backlog of events waiting to be written. */
+    private final class Stream {
+
+        private final SseEmitter emitter;
+        private final Map<Long, Queue<Stream>> streamsByUser;
+        private final Long userId;
+        private final Queue<Supplier<SseEmitter.SseEventBuilder>> backlog;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        // System.nanoTime() when the current write started, 0 between writes
+        private volatile long writeStartedAt;
+
+        Stream(SseEmitter emitter, Map<Long, Queue<Stream>> streamsByUser, Long userId) {
+            this.emitter = emitter;
+            this.streamsByUser = streamsByUser;
+            this.userId = userId;
+            this.backlog = new ArrayBlockingQueue<>(streamQueueCapacity);
+        }
+
+        void offer(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (closed.get()) {
+                // Closed after the dispatcher looked the stream up
+                droppedOnClosedStream.increment();
+                return;
+            }
+            if (!backlog.offer(event)) {
+                // The client reads slower than events arrive; it reloads when it reconnects
+                droppedOnBacklogOverflow.increment();
+                close(null, droppedOnBacklogOverflow);
+                return;
+            }
+            scheduleDrain();
+        }
+
+        void ping() {
+            if (backlog.isEmpty()) {
+                offer(BookingEventStream::ping);
+            } else {
+                // Also retries a drain the write executor turned down
+                scheduleDrain();
+            }
+        }
+
+        boolean stalledAt(long now) {
+            long started = writeStartedAt;
+            return started != 0 && now - started > TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        }
+
+        // The backlog still waiting is counted as dropped for the reason the stream was closed
+        void close(Exception error, Counter discarded) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            remove(streamsByUser, userId, this);
+            discarded.increment(backlog.size());
+            backlog.clear();
+            // SseEmitter serialises send and complete, so a stream blocked in a write is completed
+            // by its writer once that write returns
+            if (writeStartedAt == 0) {
+                complete(error);
+            }
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    writeExecutor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down; the next event or heartbeat tries again
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                while (!closed.get() && (event = backlog.poll()) != null) {
+                    writeStartedAt = System.nanoTime();
+                    try {
+                        emitter.send(event.get());
+                    } catch (IOException | IllegalStateException e) {
+                        // Client went away or the stream already completed
+                        writeStartedAt = 0;
+                        close(e, droppedOnClosedStream);
+                    }
+                    writeStartedAt = 0;
+                }
+                if (closed.get()) {
+                    complete(null);
+                }
+            } finally {
+                draining.set(false);
+            }
+            // An event offered after the last poll but before the flag was cleared
+            if (!closed.get() && !backlog.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void complete(Exception error) {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            if (error != null) {
+                emitter.completeWithError(error);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+}
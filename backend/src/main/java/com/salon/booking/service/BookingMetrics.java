@@ -0,0 +1,72 @@
+package com.salon.booking.service;
+
+import com.salon.booking.event.BookingEvent;
+import com.salon.booking.event.FeedbackEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Business counters exported on /actuator/prometheus; per-minute rates come from rate() over
+ * them. Bookings and feedback are counted from committed events so rolled-back work never shows
+ * up, while conflicts are recorded by BookingService at the point a request is refused.
+ */
+@Component
+public class BookingMetrics {
+
+    public static final String SLOT_TAKEN = "slot_taken";
+    public static final String INVALID_TRANSITION = "invalid_transition";
+    public static final String CONCURRENT_UPDATE = "concurrent_update";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter bookingsCreated;
+    private Counter bookingsDeleted;
+    private Counter feedbackCreated;
+
+    @PostConstruct
+    void init() {
+        bookingsCreated = Counter.builder("salon.bookings.created")
+                .description("Bookings created")
+                .register(meterRegistry);
+        bookingsDeleted = Counter.builder("salon.bookings.deleted")
+                .description("Bookings deleted")
+                .register(meterRegistry);
+        feedbackCreated = Counter.builder("salon.feedback.created")
+                .description("Feedback entries created")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        switch (event.getType()) {
+            case CREATED -> bookingsCreated.increment();
+            case DELETED -> bookingsDeleted.increment();
+            case STATUS_CHANGED -> Counter.builder("salon.bookings.status.changes")
+                    .description("Booking status changes by new status (CONFIRMED, REJECTED, ...)")
+                    .tag("status", event.getStatus().name())
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackEvent(FeedbackEvent event) {
+        if (event.getType() == FeedbackEvent.Type.CREATED) {
+            feedbackCreated.increment();
+        }
+    }
+
+    // Booking requests and status changes refused with a conflict, by reason
+    public void recordConflict(String reason) {
+        Counter.builder("salon.bookings.conflicts")
+                .description("Booking requests and status changes refused with a conflict")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
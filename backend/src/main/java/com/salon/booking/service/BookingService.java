@@ -1,22 +1,53 @@
 package com.salon.booking.service;
 
-import com.salon.booking.dto.BookingDTO;
 import com.salon.booking.dto.BookingRequest;
+import com.salon.booking.dto.BookingStatusChange;
+import com.salon.booking.dto.BookingStatusResult;
+import com.salon.booking.dto.BookingSummary;
+import com.salon.booking.dto.CursorPage;
+import com.salon.booking.dto.PageCursor;
 import com.salon.booking.entity.Booking;
 import com.salon.booking.entity.Service;
 import com.salon.booking.entity.User;
+import com.salon.booking.event.BookingEvent;
+import com.salon.booking.exception.BookingConflictException;
 import com.salon.booking.repository.BookingRepository;
 import com.salon.booking.repository.ServiceRepository;
 import com.salon.booking.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeSet;
 
 @org.springframework.stereotype.Service
 public class BookingService {
 
+    public static final int MAX_BULK_STATUS_CHANGES = 200;
+
+    public static final int MAX_BULK_BOOKINGS = 500;
+
+    private static final String CONDITIONAL_STATUS_UPDATE =
+            "UPDATE bookings SET status = ?, updated_at = ? WHERE id = ? AND status = ?";
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -29,94 +60,361 @@ public class BookingService {
     @Autowired
     private EmailService emailService;
 
-    public List<Booking> getAllBookings() {
-        return bookingRepository.findAll();
-    }
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private StylistLocks stylistLocks;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
 
-    public List<Booking> getBookingsByCustomer(Long customerId) {
-        return bookingRepository.findByCustomerId(customerId);
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * One keyset page of bookings, newest appointment first. Null filters are ignored.
+     */
+    public CursorPage<BookingSummary> getBookingPage(Booking.BookingStatus status, Long stylistId, Long customerId,
+                                                     String cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        Pageable fetch = PageRequest.of(0, pageSize + 1);
+        List<BookingSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = bookingRepository.findSummaryPage(status, stylistId, customerId, fetch);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = bookingRepository.findSummaryPageAfter(status, stylistId, customerId,
+                    after.position(), after.id(), fetch);
+        }
+        return CursorPage.of(rows, pageSize, b -> new PageCursor(b.bookingDateTime(), b.id()));
     }
 
-    public List<Booking> getBookingsByStylist(Long stylistId) {
-        return bookingRepository.findByStylistId(stylistId);
+    public List<BookingSummary> getBookingsByCustomer(Long customerId) {
+        return bookingRepository.findSummariesByCustomerId(customerId);
     }
 
-    public List<Booking> getPendingBookingsByStylist(Long stylistId) {
-        return bookingRepository.findPendingBookingsByStylistId(stylistId);
+    public List<BookingSummary> getPendingBookingsByStylist(Long stylistId) {
+        return bookingRepository.findPendingSummariesByStylistId(stylistId);
     }
 
-    public Optional<Booking> getBookingById(Long id) {
-        return bookingRepository.findById(id);
+    public Optional<BookingSummary> getBookingById(Long id) {
+        return bookingRepository.findSummaryById(id);
     }
 
     public Booking createBooking(Long customerId, BookingRequest bookingRequest) {
         try {
-            Optional<User> customerOptional = userRepository.findById(customerId);
-            Optional<User> stylistOptional = userRepository.findById(bookingRequest.getStylistId());
-            Optional<Service> serviceOptional = serviceRepository.findById(bookingRequest.getServiceId());
+            // The stylist lock is held until the transaction has committed, so the next request
+            // for this stylist always sees the booking when it runs its overlap check
+            return stylistLocks.callWithLock(bookingRequest.getStylistId(),
+                    () -> transactionTemplate.execute(status -> insertBooking(customerId, bookingRequest)));
 
-            if (customerOptional.isEmpty() || stylistOptional.isEmpty() || serviceOptional.isEmpty()) {
-                throw new RuntimeException("Customer, Stylist, or Service not found");
-            }
+        } catch (BookingConflictException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create booking: " + e.getMessage());
+        }
+    }
 
-            User customer = customerOptional.get();
-            User stylist = stylistOptional.get();
-            Service service = serviceOptional.get();
+    private Booking insertBooking(Long customerId, BookingRequest bookingRequest) {
+        Optional<User> customerOptional = userRepository.findById(customerId);
+        // Locking the stylist's row serialises bookings for that stylist across app nodes
+        Optional<User> stylistOptional = userRepository.findByIdForUpdate(bookingRequest.getStylistId());
+        Optional<Service> serviceOptional = serviceRepository.findById(bookingRequest.getServiceId());
 
-            if (customer.getRole() != User.Role.CUSTOMER) {
-                throw new RuntimeException("Invalid customer role");
-            }
+        if (customerOptional.isEmpty() || stylistOptional.isEmpty() || serviceOptional.isEmpty()) {
+            throw new RuntimeException("Customer, Stylist, or Service not found");
+        }
 
-            if (stylist.getRole() != User.Role.STYLIST) {
-                throw new RuntimeException("Invalid stylist role");
-            }
+        User customer = customerOptional.get();
+        User stylist = stylistOptional.get();
+        Service service = serviceOptional.get();
+
+        if (customer.getRole() != User.Role.CUSTOMER) {
+            throw new RuntimeException("Invalid customer role");
+        }
 
-            Booking booking = new Booking();
-            booking.setCustomer(customer);
-            booking.setStylist(stylist);
-            booking.setService(service);
-            booking.setBookingDateTime(bookingRequest.getBookingDateTime());
-            booking.setNotes(bookingRequest.getNotes());
-            booking.setStatus(Booking.BookingStatus.PENDING);
+        if (stylist.getRole() != User.Role.STYLIST) {
+            throw new RuntimeException("Invalid stylist role");
+        }
+
+        LocalDateTime start = bookingRequest.getBookingDateTime();
+        LocalDateTime end = start.plusMinutes(service.getDurationMinutes());
+        if (overlapsExistingBooking(stylist.getId(), start, end)) {
+            bookingMetrics.recordConflict(BookingMetrics.SLOT_TAKEN);
+            throw new BookingConflictException("Stylist is already booked at the requested time");
+        }
+
+        Booking booking = new Booking();
+        booking.setCustomer(customer);
+        booking.setStylist(stylist);
+        booking.setService(service);
+        booking.setBookingDateTime(start);
+        booking.setNotes(bookingRequest.getNotes());
+        booking.setStatus(Booking.BookingStatus.PENDING);
+
+        Booking savedBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingEvent.created(savedBooking));
+
+        // Queue email notification to stylist in the same transaction
+        emailService.sendBookingNotificationToStylist(savedBooking);
+
+        return savedBooking;
+    }
 
-            Booking savedBooking = bookingRepository.save(booking);
+    private boolean overlapsExistingBooking(Long stylistId, LocalDateTime start, LocalDateTime end) {
+        // No service runs longer than a day, so anything that started earlier has already ended
+        List<Booking> nearby = bookingRepository.findStylistBookingsInWindow(
+                stylistId, start.minusDays(1), end, Booking.BookingStatus.occupying());
+        return overlapsAny(nearby, start, end);
+    }
 
-            // Send email notification to stylist
-            emailService.sendBookingNotificationToStylist(savedBooking);
+    private static boolean overlapsAny(List<Booking> bookings, LocalDateTime start, LocalDateTime end) {
+        return bookings.stream().anyMatch(existing -> existing.getBookingDateTime().isBefore(end)
+                && existing.getBookingDateTime().plusMinutes(existing.getService().getDurationMinutes()).isAfter(start));
+    }
 
-            return savedBooking;
+    /**
+     * Books several appointments for one customer at once, e.g. a group visit or a recurring
+     * series. Either every booking is created or none is: an overlap with an existing booking,
+     * or between two bookings of the request, fails the whole batch. The inserts and the
+     * stylist notifications go out as JDBC batches.
+     */
+    public List<Booking> createBookings(Long customerId, List<BookingRequest> bookingRequests) {
+        Set<Long> stylistIds = new TreeSet<>();
+        for (int i = 0; i < bookingRequests.size(); i++) {
+            BookingRequest request = bookingRequests.get(i);
+            if (request.getStylistId() == null || request.getServiceId() == null || request.getBookingDateTime() == null) {
+                throw new RuntimeException("Booking " + (i + 1) + " needs a stylist, a service and a date and time");
+            }
+            stylistIds.add(request.getStylistId());
+        }
+        try {
+            return stylistLocks.callWithLocks(stylistIds,
+                    () -> transactionTemplate.execute(status -> insertBookings(customerId, stylistIds, bookingRequests)));
 
+        } catch (BookingConflictException e) {
+            throw e;
         } catch (Exception e) {
-            throw new RuntimeException("Failed to create booking: " + e.getMessage());
+            throw new RuntimeException("Failed to create bookings: " + e.getMessage());
         }
     }
 
-    public Booking updateBookingStatus(Long bookingId, Booking.BookingStatus status) {
-        Optional<Booking> bookingOptional = bookingRepository.findById(bookingId);
-        if (bookingOptional.isPresent()) {
-            Booking booking = bookingOptional.get();
-            booking.setStatus(status);
-            return bookingRepository.save(booking);
+    private List<Booking> insertBookings(Long customerId, Set<Long> stylistIds, List<BookingRequest> bookingRequests) {
+        User customer = userRepository.findById(customerId)
+                .orElseThrow(() -> new RuntimeException("Customer not found"));
+        if (customer.getRole() != User.Role.CUSTOMER) {
+            throw new RuntimeException("Invalid customer role");
         }
-        throw new RuntimeException("Booking not found");
+
+        Map<Long, User> stylists = new HashMap<>();
+        for (User stylist : userRepository.findAllByIdForUpdate(stylistIds)) {
+            stylists.put(stylist.getId(), stylist);
+        }
+        Set<Long> serviceIds = new HashSet<>();
+        LocalDateTime earliest = null;
+        LocalDateTime latest = null;
+        for (BookingRequest request : bookingRequests) {
+            serviceIds.add(request.getServiceId());
+            earliest = earliest == null || request.getBookingDateTime().isBefore(earliest) ? request.getBookingDateTime() : earliest;
+            latest = latest == null || request.getBookingDateTime().isAfter(latest) ? request.getBookingDateTime() : latest;
+        }
+        Map<Long, Service> services = new HashMap<>();
+        for (Service service : serviceRepository.findAllById(serviceIds)) {
+            services.put(service.getId(), service);
+        }
+
+        // Existing bookings of every stylist involved, fetched once; new bookings are added as
+        // they are accepted so the request is also checked against itself
+        Map<Long, List<Booking>> taken = new HashMap<>();
+        for (Booking existing : bookingRepository.findStylistsBookingsInWindow(stylistIds, earliest.minusDays(1),
+                latest.plusDays(1), Booking.BookingStatus.occupying())) {
+            taken.computeIfAbsent(existing.getStylist().getId(), id -> new ArrayList<>()).add(existing);
+        }
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < bookingRequests.size(); i++) {
+            BookingRequest request = bookingRequests.get(i);
+            User stylist = stylists.get(request.getStylistId());
+            Service service = services.get(request.getServiceId());
+            if (stylist == null || service == null) {
+                throw new RuntimeException("Stylist or service not found for booking " + (i + 1));
+            }
+            if (stylist.getRole() != User.Role.STYLIST) {
+                throw new RuntimeException("Invalid stylist role for booking " + (i + 1));
+            }
+
+            LocalDateTime start = request.getBookingDateTime();
+            LocalDateTime end = start.plusMinutes(service.getDurationMinutes());
+            List<Booking> stylistBookings = taken.computeIfAbsent(stylist.getId(), id -> new ArrayList<>());
+            if (overlapsAny(stylistBookings, start, end)) {
+                bookingMetrics.recordConflict(BookingMetrics.SLOT_TAKEN);
+                throw new BookingConflictException("Booking " + (i + 1) + ": " + stylist.getName()
+                        + " is already booked at " + start);
+            }
+
+            Booking booking = new Booking(customer, stylist, service, start);
+            booking.setNotes(request.getNotes());
+            stylistBookings.add(booking);
+            bookings.add(booking);
+        }
+
+        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+        for (Booking booking : savedBookings) {
+            eventPublisher.publishEvent(BookingEvent.created(booking));
+        }
+        emailService.sendBookingNotificationsToStylists(savedBookings);
+        return savedBookings;
     }
 
-    public void deleteBooking(Long id) {
-        bookingRepository.deleteById(id);
+    /**
+     * Moves a booking along the status state machine with a single conditional UPDATE.
+     * Throws BookingConflictException if the transition is not allowed or the booking was
+     * changed by someone else in the meantime.
+     */
+    @Transactional
+    public Booking updateBookingStatus(Long bookingId, Booking.BookingStatus status) {
+        Booking booking = bookingRepository.findWithPartiesById(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found"));
+        Booking.BookingStatus previousStatus = booking.getStatus();
+        if (previousStatus == status) {
+            // Repeated clicks and client retries are no-ops rather than conflicts
+            return booking;
+        }
+        if (!previousStatus.canMoveTo(status)) {
+            bookingMetrics.recordConflict(BookingMetrics.INVALID_TRANSITION);
+            throw new BookingConflictException("Cannot change booking status from " + previousStatus + " to " + status);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (bookingRepository.updateStatusIfCurrent(bookingId, previousStatus, status, now) == 0) {
+            bookingMetrics.recordConflict(BookingMetrics.CONCURRENT_UPDATE);
+            throw new BookingConflictException("Booking status was changed by another request; reload and try again");
+        }
+        // The loaded copy is detached by the update, so bringing it in line does not write again
+        booking.setStatus(status);
+        booking.setUpdatedAt(now);
+        eventPublisher.publishEvent(BookingEvent.statusChanged(booking, previousStatus));
+
+        // Queue the matching customer notification with the status change
+        if (status == Booking.BookingStatus.CONFIRMED) {
+            emailService.sendBookingConfirmationToCustomer(booking);
+        } else if (status == Booking.BookingStatus.REJECTED) {
+            emailService.sendBookingRejectionToCustomer(booking);
+        }
+        return booking;
     }
 
-    public List<Booking> getBookingHistory(Long customerId) {
-        return bookingRepository.findBookingHistoryByCustomerId(customerId);
+    /**
+     * Applies many status changes in one transaction: one select for the bookings, one JDBC batch
+     * of conditional updates and one batch of outbox inserts for the customer emails. Each change
+     * succeeds or fails on its own; results come back in request order.
+     */
+    @Transactional
+    public List<BookingStatusResult> updateBookingStatuses(List<BookingStatusChange> changes) {
+        Set<Long> bookingIds = new HashSet<>();
+        for (BookingStatusChange change : changes) {
+            if (change.getBookingId() != null) {
+                bookingIds.add(change.getBookingId());
+            }
+        }
+        Map<Long, Booking> bookings = new HashMap<>();
+        for (Booking booking : bookingRepository.findWithPartiesByIdIn(bookingIds)) {
+            // The rows are written through JDBC; these copies must never be flushed by Hibernate
+            entityManager.detach(booking);
+            bookings.put(booking.getId(), booking);
+        }
+
+        BookingStatusResult[] results = new BookingStatusResult[changes.size()];
+        List<Integer> accepted = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < changes.size(); i++) {
+            Long bookingId = changes.get(i).getBookingId();
+            Booking.BookingStatus status = parseStatus(changes.get(i).getStatus());
+            Booking booking = bookings.get(bookingId);
+            if (bookingId == null || status == null) {
+                results[i] = BookingStatusResult.invalid(bookingId, "A booking ID and a valid status are required");
+            } else if (!seen.add(bookingId)) {
+                results[i] = BookingStatusResult.invalid(bookingId, "Booking appears more than once in the request");
+            } else if (booking == null) {
+                results[i] = BookingStatusResult.notFound(bookingId);
+            } else if (booking.getStatus() == status) {
+                results[i] = BookingStatusResult.unchanged(bookingId, status);
+            } else if (!booking.getStatus().canMoveTo(status)) {
+                bookingMetrics.recordConflict(BookingMetrics.INVALID_TRANSITION);
+                results[i] = BookingStatusResult.conflict(bookingId, booking.getStatus(),
+                        "Cannot change booking status from " + booking.getStatus() + " to " + status);
+            } else {
+                accepted.add(i);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int[] updateCounts = jdbcTemplate.batchUpdate(CONDITIONAL_STATUS_UPDATE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                BookingStatusChange change = changes.get(accepted.get(i));
+                ps.setString(1, parseStatus(change.getStatus()).name());
+                ps.setObject(2, now);
+                ps.setLong(3, change.getBookingId());
+                ps.setString(4, bookings.get(change.getBookingId()).getStatus().name());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return accepted.size();
+            }
+        });
+
+        List<Booking> changed = new ArrayList<>();
+        for (int k = 0; k < accepted.size(); k++) {
+            int i = accepted.get(k);
+            Booking booking = bookings.get(changes.get(i).getBookingId());
+            if (updateCounts[k] == 0) {
+                bookingMetrics.recordConflict(BookingMetrics.CONCURRENT_UPDATE);
+                results[i] = BookingStatusResult.conflict(booking.getId(), null,
+                        "Booking status was changed by another request; reload and try again");
+                continue;
+            }
+            Booking.BookingStatus previousStatus = booking.getStatus();
+            booking.setStatus(parseStatus(changes.get(i).getStatus()));
+            booking.setUpdatedAt(now);
+            eventPublisher.publishEvent(BookingEvent.statusChanged(booking, previousStatus));
+            changed.add(booking);
+            results[i] = BookingStatusResult.updated(booking.getId(), previousStatus, booking.getStatus());
+        }
+        emailService.sendStatusNotificationsToCustomers(changed);
+        return Arrays.asList(results);
     }
 
-    public List<BookingDTO> getBookingsByCustomerAsDTO(Long customerId) {
+    private static Booking.BookingStatus parseStatus(String status) {
+        if (status == null) {
+            return null;
+        }
         try {
-            List<Booking> bookings = bookingRepository.findByCustomerId(customerId);
-            return bookings.stream()
-                    .map(BookingDTO::new)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to fetch customer bookings: " + e.getMessage());
+            return Booking.BookingStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
         }
     }
-}
\ No newline at end of file
+
+    public void deleteBooking(Long id) {
+        Optional<Booking> bookingOptional = bookingRepository.findById(id);
+        if (bookingOptional.isPresent()) {
+            BookingEvent event = BookingEvent.deleted(bookingOptional.get());
+            bookingRepository.delete(bookingOptional.get());
+            eventPublisher.publishEvent(event);
+            return;
+        }
+        throw new RuntimeException("Booking not found");
+    }
+}
@@ -0,0 +1,78 @@
+package com.salon.booking.service;
+
+import java.time.Duration;
+
+/**
+ * Minimal circuit breaker. After {@code failureThreshold} consecutive failures it opens and
+ * rejects calls for {@code openDuration}; it then lets a single trial call through and closes
+ * again if that call succeeds. While the trial is in flight no other call is let through; a
+ * trial that reports nothing within {@code openDuration} is treated as lost.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openDurationMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+    private long trialStartedAt;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDuration.toMillis();
+    }
+
+    public synchronized boolean allowsRequests() {
+        long now = System.currentTimeMillis();
+        if (state == State.OPEN && now - openedAt >= openDurationMillis) {
+            state = State.HALF_OPEN;
+        }
+        if (trialInFlight && now - trialStartedAt >= openDurationMillis) {
+            trialInFlight = false;
+        }
+        return state == State.CLOSED || (state == State.HALF_OPEN && !trialInFlight);
+    }
+
+    /**
+     * Claims the half-open trial; false if the breaker is not half-open or a trial is already
+     * in flight. The trial ends with {@link #recordSuccess}, {@link #recordFailure} or, when the
+     * call was never made, {@link #abandonTrial}.
+     */
+    public synchronized boolean tryStartTrial() {
+        if (!allowsRequests() || state != State.HALF_OPEN) {
+            return false;
+        }
+        trialInFlight = true;
+        trialStartedAt = System.currentTimeMillis();
+        return true;
+    }
+
+    public synchronized void abandonTrial() {
+        trialInFlight = false;
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+        trialInFlight = false;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,151 @@
+package com.salon.booking.service;
+
+import com.salon.booking.dto.CursorPage;
+import com.salon.booking.dto.CustomerActivity;
+import com.salon.booking.dto.UserSummary;
+import com.salon.booking.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Everything a dashboard needs on first load, in one response. The parts are independent
+ * read-only queries, so they run side by side on the dashboardExecutor and the response takes
+ * about as long as the slowest of them.
+ */
+@Service
+public class DashboardService {
+
+    // First page of the All Bookings tab; the dashboard follows nextCursor for the rest
+    private static final int STYLIST_BOOKINGS_LIMIT = 200;
+    private static final int CUSTOMERS_PAGE_SIZE = 20;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ServiceService serviceService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    @Qualifier("dashboardExecutor")
+    private Executor dashboardExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${salon.dashboard.timeout-ms:10000}")
+    private long timeoutMs;
+
+    public Map<String, Object> getStylistDashboard(Long stylistId) {
+        Map<String, Supplier<?>> parts = new LinkedHashMap<>();
+        parts.put("profile", () -> userService.getUserSummary(stylistId));
+        parts.put("pendingBookings", () -> bookingService.getPendingBookingsByStylist(stylistId));
+        parts.put("bookings", () -> bookingService.getBookingPage(null, stylistId, null, null, STYLIST_BOOKINGS_LIMIT));
+        parts.put("services", () -> serviceService.getServicesByStylist(stylistId));
+        parts.put("customers", () -> userService.getCustomersOfStylist(stylistId,
+                CustomerActivity.SortField.LAST_BOOKING, Sort.Direction.DESC, 0, CUSTOMERS_PAGE_SIZE));
+        parts.put("feedback", () -> feedbackService.getFeedbackByStylist(stylistId));
+        Map<String, Object> dashboard = fanOut(parts);
+        dashboard.put("profile", requireRole(dashboard.get("profile"), User.Role.STYLIST));
+        return dashboard;
+    }
+
+    public Map<String, Object> getCustomerDashboard(Long customerId) {
+        Map<String, Supplier<?>> parts = new LinkedHashMap<>();
+        parts.put("profile", () -> userService.getUserSummary(customerId));
+        parts.put("stylists", () -> userService.getAllStylists());
+        parts.put("services", () -> serviceService.getAllServices());
+        parts.put("bookings", () -> bookingService.getBookingsByCustomer(customerId));
+        Map<String, Object> dashboard = fanOut(parts);
+        dashboard.put("profile", requireRole(dashboard.get("profile"), User.Role.CUSTOMER));
+        return dashboard;
+    }
+
+    public Map<String, Object> getAdminDashboard() {
+        Map<String, Supplier<?>> parts = new LinkedHashMap<>();
+        parts.put("stats", () -> dashboardStatsService.getStats());
+        parts.put("stylists", () -> userService.getAllStylists());
+        parts.put("customers", () -> userService.getAllCustomers());
+        parts.put("bookings", () -> bookingService.getBookingPage(null, null, null, null, CursorPage.DEFAULT_LIMIT));
+        parts.put("feedback", () -> feedbackService.getFeedbackPage(null, null, null, null, CursorPage.DEFAULT_LIMIT));
+        return fanOut(parts);
+    }
+
+    // Runs every part on the executor and waits for all of them; the first failure or the deadline
+    // fails the whole dashboard and cancels the other parts. Cancelling interrupts a part between
+    // statements, and each part's transaction times out at the deadline, so Hibernate sets a query
+    // timeout on every statement and the driver cancels one still running when the deadline passes
+    private Map<String, Object> fanOut(Map<String, Supplier<?>> parts) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        CompletionService<Object> completion = new ExecutorCompletionService<>(dashboardExecutor);
+        Map<String, Future<Object>> futures = new LinkedHashMap<>();
+        parts.forEach((name, part) -> futures.put(name, completion.submit(() -> runBefore(deadline, part))));
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                Future<Object> done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    throw new RuntimeException("Dashboard took longer than " + timeoutMs + " ms to load");
+                }
+                done.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Dashboard load was interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException runtime ? runtime : new RuntimeException(cause);
+        } finally {
+            // No-op for the parts that have finished
+            futures.values().forEach(future -> future.cancel(true));
+        }
+
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        futures.forEach((name, future) -> dashboard.put(name, future.resultNow()));
+        return dashboard;
+    }
+
+    private Object runBefore(long deadline, Supplier<?> part) {
+        long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remainingMs <= 0) {
+            throw new RuntimeException("Dashboard took longer than " + timeoutMs + " ms to load");
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        // Hibernate rounds the seconds left down and treats 0 as expired, hence the extra second
+        transaction.setTimeout((int) ((remainingMs + 999) / 1000) + 1);
+        return transaction.execute(status -> part.get());
+    }
+
+    private static UserSummary requireRole(Object profile, User.Role role) {
+        UserSummary user = ((Optional<?>) profile).map(UserSummary.class::cast)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (user.role() != role) {
+            throw new RuntimeException("User is not a " + role.name().toLowerCase());
+        }
+        return user;
+    }
+}
@@ -0,0 +1,123 @@
+package com.salon.booking.service;
+
+import com.salon.booking.entity.Booking;
+import com.salon.booking.entity.User;
+import com.salon.booking.event.BookingEvent;
+import com.salon.booking.event.FeedbackEvent;
+import com.salon.booking.event.UserEvent;
+import com.salon.booking.repository.BookingRepository;
+import com.salon.booking.repository.FeedbackRepository;
+import com.salon.booking.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admin dashboard counters. They are seeded from COUNT/GROUP BY queries, moved by booking, user
+ * and feedback events, and re-seeded periodically to correct any drift (for example rows removed
+ * by cascades), so reading the stats never touches the database.
+ */
+@Service
+public class DashboardStatsService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    private final AtomicLong stylists = new AtomicLong();
+    private final AtomicLong customers = new AtomicLong();
+    private final AtomicLong feedback = new AtomicLong();
+    private final Map<Booking.BookingStatus, AtomicLong> bookingsByStatus = new EnumMap<>(Booking.BookingStatus.class);
+
+    public DashboardStatsService() {
+        for (Booking.BookingStatus status : Booking.BookingStatus.values()) {
+            bookingsByStatus.put(status, new AtomicLong());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long totalBookings = 0;
+        for (Map.Entry<Booking.BookingStatus, AtomicLong> entry : bookingsByStatus.entrySet()) {
+            long count = entry.getValue().get();
+            byStatus.put(entry.getKey().name(), count);
+            totalBookings += count;
+        }
+        return Map.of(
+                "totalStylists", stylists.get(),
+                "totalCustomers", customers.get(),
+                "totalBookings", totalBookings,
+                "pendingBookings", byStatus.get(Booking.BookingStatus.PENDING.name()),
+                "confirmedBookings", byStatus.get(Booking.BookingStatus.CONFIRMED.name()),
+                "bookingsByStatus", byStatus,
+                "totalFeedback", feedback.get()
+        );
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${salon.stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${salon.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        stylists.set(userRepository.countByRole(User.Role.STYLIST));
+        customers.set(userRepository.countByRole(User.Role.CUSTOMER));
+        feedback.set(feedbackRepository.count());
+
+        Map<Booking.BookingStatus, Long> counts = new EnumMap<>(Booking.BookingStatus.class);
+        for (Object[] row : bookingRepository.countByStatus()) {
+            counts.put((Booking.BookingStatus) row[0], (Long) row[1]);
+        }
+        bookingsByStatus.forEach((status, counter) -> counter.set(counts.getOrDefault(status, 0L)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        if (event.getPreviousStatus() != null) {
+            bookingsByStatus.get(event.getPreviousStatus()).decrementAndGet();
+        }
+        if (event.getStatus() != null) {
+            bookingsByStatus.get(event.getStatus()).incrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        switch (event.getType()) {
+            case CREATED -> counterFor(event.getRole()).incrementAndGet();
+            // Deleting a user cascades to their bookings, services and feedback
+            case DELETED -> reconcile();
+            default -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackEvent(FeedbackEvent event) {
+        if (event.getType() == FeedbackEvent.Type.CREATED) {
+            feedback.incrementAndGet();
+        } else {
+            feedback.decrementAndGet();
+        }
+    }
+
+    private AtomicLong counterFor(User.Role role) {
+        return switch (role) {
+            case STYLIST -> stylists;
+            case CUSTOMER -> customers;
+            // Admins are not shown on the dashboard
+            case ADMIN -> new AtomicLong();
+        };
+    }
+}
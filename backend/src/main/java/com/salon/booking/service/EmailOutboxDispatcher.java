@@ -0,0 +1,230 @@
+package com.salon.booking.service;
+
+import com.salon.booking.entity.EmailOutbox;
+import com.salon.booking.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the email outbox on a bounded worker pool. Failed deliveries are retried with
+ * exponential backoff until {@code max-attempts} is reached, and polling pauses while the
+ * circuit breaker considers the SMTP server to be down.
+ */
+@Service
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    @Qualifier("emailDeliveryExecutor")
+    private ThreadPoolExecutor deliveryExecutor;
+
+    @Value("${salon.mail.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${salon.mail.outbox.initial-backoff-ms:5000}")
+    private long initialBackoffMillis;
+
+    @Value("${salon.mail.outbox.max-backoff-ms:900000}")
+    private long maxBackoffMillis;
+
+    @Value("${salon.mail.outbox.breaker.failure-threshold:5}")
+    private int breakerFailureThreshold;
+
+    @Value("${salon.mail.outbox.breaker.open-ms:60000}")
+    private long breakerOpenMillis;
+
+    @Value("${salon.mail.outbox.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMillis;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private CircuitBreaker circuitBreaker;
+
+    private Counter abandoned;
+
+    private volatile boolean stopping;
+
+    @PostConstruct
+    void init() {
+        circuitBreaker = new CircuitBreaker(breakerFailureThreshold, Duration.ofMillis(breakerOpenMillis));
+        Gauge.builder("salon.email.circuit.open", circuitBreaker,
+                        breaker -> breaker.getState() == CircuitBreaker.State.OPEN ? 1 : 0)
+                .description("1 while the SMTP circuit breaker is open and delivery is paused")
+                .register(meterRegistry);
+        abandoned = Counter.builder("salon.email.abandoned")
+                .description("Outbox messages marked FAILED after max-attempts")
+                .register(meterRegistry);
+    }
+
+    // Runs before the delivery executor is destroyed, since this bean depends on it. Nothing new
+    // is queued from here on; queued and running deliveries get shutdown-timeout-ms to finish, and
+    // the claims of those that never started are released so they go out on the next start (or
+    // from another node) without waiting for releaseStaleClaims
+    @PreDestroy
+    void stop() {
+        stopping = true;
+        deliveryExecutor.shutdown();
+        try {
+            if (deliveryExecutor.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Runnable queued : deliveryExecutor.shutdownNow()) {
+            if (queued instanceof Delivery delivery) {
+                outboxRepository.release(delivery.id);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${salon.mail.outbox.poll-interval-ms:500}")
+    public void dispatchDue() {
+        if (stopping || !circuitBreaker.allowsRequests()) {
+            return;
+        }
+        // While half-open a single trial message goes out, and nothing more until it reports back
+        boolean trial = circuitBreaker.getState() == CircuitBreaker.State.HALF_OPEN;
+        int batchSize = trial ? 1 : deliveryExecutor.getQueue().remainingCapacity();
+        if (batchSize == 0) {
+            return;
+        }
+
+        // The claim time identifies the claim, so it is kept at the precision the column stores
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<Long> dueIds = outboxRepository.findDueIds(now, PageRequest.of(0, batchSize));
+        for (Long id : dueIds) {
+            if (stopping) {
+                return;
+            }
+            if (trial && !circuitBreaker.tryStartTrial()) {
+                return;
+            }
+            if (outboxRepository.claim(id, now) == 0) {
+                if (trial) {
+                    circuitBreaker.abandonTrial();
+                }
+                continue;
+            }
+            try {
+                deliveryExecutor.execute(new Delivery(id, now, trial));
+            } catch (RejectedExecutionException e) {
+                outboxRepository.release(id);
+                if (trial) {
+                    circuitBreaker.abandonTrial();
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${salon.mail.outbox.stale-check-interval-ms:60000}")
+    public void releaseStaleClaims() {
+        outboxRepository.releaseStaleClaims(LocalDateTime.now().minusMinutes(5));
+    }
+
+    @Scheduled(cron = "${salon.mail.outbox.purge-cron:0 30 3 * * *}")
+    public void purgeSentMessages() {
+        outboxRepository.deleteSentBefore(LocalDateTime.now().minusDays(7));
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private void deliver(Long id, LocalDateTime claimedAt, boolean trial) {
+        EmailOutbox email = outboxRepository.findById(id).orElse(null);
+        if (email == null || email.getStatus() != EmailOutbox.Status.SENDING
+                || !claimedAt.equals(email.getClaimedAt())) {
+            // Deleted, or re-queued as stale and claimed by another worker meanwhile
+            if (trial) {
+                circuitBreaker.abandonTrial();
+            }
+            return;
+        }
+        email.setAttempts(email.getAttempts() + 1);
+        try {
+            emailService.deliver(email);
+            circuitBreaker.recordSuccess();
+            email.setStatus(EmailOutbox.Status.SENT);
+            email.setSentAt(LocalDateTime.now());
+            email.setLastError(null);
+        } catch (Exception e) {
+            circuitBreaker.recordFailure();
+            email.setLastError(truncate(e.getMessage()));
+            if (email.getAttempts() >= maxAttempts) {
+                log.error("Giving up on email {} to {} after {} attempts", id, email.getRecipient(), email.getAttempts(), e);
+                email.setStatus(EmailOutbox.Status.FAILED);
+                abandoned.increment();
+            } else {
+                log.warn("Email {} delivery attempt {} failed: {}", id, email.getAttempts(), e.getMessage());
+                email.setStatus(EmailOutbox.Status.PENDING);
+                email.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoffMillis(email.getAttempts()))));
+            }
+        }
+        int finished = outboxRepository.finish(id, claimedAt, email.getStatus(), email.getAttempts(),
+                email.getNextAttemptAt(), email.getLastError(), email.getSentAt());
+        if (finished == 0) {
+            log.warn("Email {} was re-claimed while being sent; its outcome is left to the new claim", id);
+        }
+    }
+
+    // A named task, so deliveries still queued at shutdown can have their claims released
+    private final class Delivery implements Runnable {
+
+        private final Long id;
+        private final LocalDateTime claimedAt;
+        private final boolean trial;
+
+        Delivery(Long id, LocalDateTime claimedAt, boolean trial) {
+            this.id = id;
+            this.claimedAt = claimedAt;
+            this.trial = trial;
+        }
+
+        @Override
+        public void run() {
+            deliver(id, claimedAt, trial);
+        }
+    }
+
+    // Exponential backoff with up to 20% jitter so retries from many messages spread out
+    private long backoffMillis(int attempts) {
+        long backoff = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempts - 1, 20));
+        return backoff + ThreadLocalRandom.current().nextLong(backoff / 5 + 1);
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -1,6 +1,10 @@
 package com.salon.booking.service;
 
 import com.salon.booking.entity.Booking;
+import com.salon.booking.entity.EmailOutbox;
+import com.salon.booking.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
@@ -8,124 +12,177 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
+/**
+ * Booking notifications are rendered here and written to the email outbox in the caller's
+ * transaction; EmailOutboxDispatcher delivers them over SMTP afterwards.
+ */
 @Service
 public class EmailService {
 
+    private static final DateTimeFormatter BOOKING_TIME_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy 'at' hh:mm a");
+
     @Autowired
     private JavaMailSender mailSender;
 
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${spring.mail.username}")
     private String fromEmail;
 
     public void sendBookingNotificationToStylist(Booking booking) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(booking.getStylist().getEmail());
-            message.setSubject("New Booking Request - Salon Management");
-            
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd, yyyy 'at' hh:mm a");
-            String formattedDateTime = booking.getBookingDateTime().format(formatter);
-            
-            String emailBody = String.format(
-                "Dear %s,\n\n" +
-                "You have received a new booking request!\n\n" +
-                "Booking Details:\n" +
-                "Customer: %s\n" +
-                "Customer Email: %s\n" +
-                "Service: %s\n" +
-                "Date & Time: %s\n" +
-                "Notes: %s\n\n" +
-                "Please log in to your dashboard to accept or reject this booking.\n\n" +
-                "Best regards,\n" +
-                "Salon Management Team",
-                booking.getStylist().getName(),
-                booking.getCustomer().getName(),
-                booking.getCustomer().getEmail(),
-                booking.getService().getName(),
-                formattedDateTime,
-                booking.getNotes() != null ? booking.getNotes() : "No additional notes"
-            );
-            
-            message.setText(emailBody);
-            mailSender.send(message);
-            
-        } catch (Exception e) {
-            System.err.println("Failed to send email notification: " + e.getMessage());
-            // Log the error but don't throw exception to avoid booking failure
+        enqueue(notificationToStylist(booking));
+    }
+
+    // Outbox ids are pooled, so the inserts go out as one JDBC batch
+    public void sendBookingNotificationsToStylists(Collection<Booking> bookings) {
+        List<EmailOutbox> emails = new ArrayList<>();
+        for (Booking booking : bookings) {
+            emails.add(notificationToStylist(booking));
         }
+        outboxRepository.saveAll(emails);
+    }
+
+    private EmailOutbox notificationToStylist(Booking booking) {
+        String formattedDateTime = booking.getBookingDateTime().format(BOOKING_TIME_FORMAT);
+
+        String emailBody = String.format(
+            "Dear %s,\n\n" +
+            "You have received a new booking request!\n\n" +
+            "Booking Details:\n" +
+            "Customer: %s\n" +
+            "Customer Email: %s\n" +
+            "Service: %s\n" +
+            "Date & Time: %s\n" +
+            "Notes: %s\n\n" +
+            "Please log in to your dashboard to accept or reject this booking.\n\n" +
+            "Best regards,\n" +
+            "Salon Management Team",
+            booking.getStylist().getName(),
+            booking.getCustomer().getName(),
+            booking.getCustomer().getEmail(),
+            booking.getService().getName(),
+            formattedDateTime,
+            booking.getNotes() != null ? booking.getNotes() : "No additional notes"
+        );
+
+        return new EmailOutbox(booking.getStylist().getEmail(), "New Booking Request - Salon Management", emailBody);
     }
 
     public void sendBookingConfirmationToCustomer(Booking booking) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(booking.getCustomer().getEmail());
-            message.setSubject("Booking Confirmation - Salon Management");
-            
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd, yyyy 'at' hh:mm a");
-            String formattedDateTime = booking.getBookingDateTime().format(formatter);
-            
-            String emailBody = String.format(
-                "Dear %s,\n\n" +
-                "Your booking has been confirmed!\n\n" +
-                "Booking Details:\n" +
-                "Stylist: %s\n" +
-                "Service: %s\n" +
-                "Date & Time: %s\n" +
-                "Price: $%.2f\n" +
-                "Duration: %d minutes\n\n" +
-                "Please arrive 10 minutes before your appointment time.\n\n" +
-                "Best regards,\n" +
-                "Salon Management Team",
-                booking.getCustomer().getName(),
-                booking.getStylist().getName(),
-                booking.getService().getName(),
-                formattedDateTime,
-                booking.getService().getPrice(),
-                booking.getService().getDurationMinutes()
-            );
-            
-            message.setText(emailBody);
-            mailSender.send(message);
-            
-        } catch (Exception e) {
-            System.err.println("Failed to send confirmation email: " + e.getMessage());
-        }
+        enqueue(confirmationToCustomer(booking));
     }
 
     public void sendBookingRejectionToCustomer(Booking booking) {
+        enqueue(rejectionToCustomer(booking));
+    }
+
+    /**
+     * Queues the customer notifications for a set of status changes with one batched insert.
+     * Bookings whose new status has no notification are skipped.
+     */
+    public void sendStatusNotificationsToCustomers(Collection<Booking> bookings) {
+        List<EmailOutbox> emails = new ArrayList<>();
+        for (Booking booking : bookings) {
+            EmailOutbox email = customerStatusNotification(booking);
+            if (email != null) {
+                emails.add(email);
+            }
+        }
+        outboxRepository.saveAll(emails);
+    }
+
+    private EmailOutbox customerStatusNotification(Booking booking) {
+        if (booking.getStatus() == Booking.BookingStatus.CONFIRMED) {
+            return confirmationToCustomer(booking);
+        }
+        if (booking.getStatus() == Booking.BookingStatus.REJECTED) {
+            return rejectionToCustomer(booking);
+        }
+        return null;
+    }
+
+    private EmailOutbox confirmationToCustomer(Booking booking) {
+        String formattedDateTime = booking.getBookingDateTime().format(BOOKING_TIME_FORMAT);
+
+        String emailBody = String.format(
+            "Dear %s,\n\n" +
+            "Your booking has been confirmed!\n\n" +
+            "Booking Details:\n" +
+            "Stylist: %s\n" +
+            "Service: %s\n" +
+            "Date & Time: %s\n" +
+            "Price: $%.2f\n" +
+            "Duration: %d minutes\n\n" +
+            "Please arrive 10 minutes before your appointment time.\n\n" +
+            "Best regards,\n" +
+            "Salon Management Team",
+            booking.getCustomer().getName(),
+            booking.getStylist().getName(),
+            booking.getService().getName(),
+            formattedDateTime,
+            booking.getService().getPrice(),
+            booking.getService().getDurationMinutes()
+        );
+
+        return new EmailOutbox(booking.getCustomer().getEmail(), "Booking Confirmation - Salon Management", emailBody);
+    }
+
+    private EmailOutbox rejectionToCustomer(Booking booking) {
+        String formattedDateTime = booking.getBookingDateTime().format(BOOKING_TIME_FORMAT);
+
+        String emailBody = String.format(
+            "Dear %s,\n\n" +
+            "We regret to inform you that your booking request has been declined.\n\n" +
+            "Booking Details:\n" +
+            "Stylist: %s\n" +
+            "Service: %s\n" +
+            "Date & Time: %s\n\n" +
+            "Please feel free to book another appointment with a different time or stylist.\n\n" +
+            "Best regards,\n" +
+            "Salon Management Team",
+            booking.getCustomer().getName(),
+            booking.getStylist().getName(),
+            booking.getService().getName(),
+            formattedDateTime
+        );
+
+        return new EmailOutbox(booking.getCustomer().getEmail(), "Booking Update - Salon Management", emailBody);
+    }
+
+    // Sends one outbox message over SMTP; failures propagate to the dispatcher for retry.
+    // Every attempt is timed as salon.email.send, tagged with its outcome.
+    public void deliver(EmailOutbox email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(email.getRecipient());
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(booking.getCustomer().getEmail());
-            message.setSubject("Booking Update - Salon Management");
-            
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd, yyyy 'at' hh:mm a");
-            String formattedDateTime = booking.getBookingDateTime().format(formatter);
-            
-            String emailBody = String.format(
-                "Dear %s,\n\n" +
-                "We regret to inform you that your booking request has been declined.\n\n" +
-                "Booking Details:\n" +
-                "Stylist: %s\n" +
-                "Service: %s\n" +
-                "Date & Time: %s\n\n" +
-                "Please feel free to book another appointment with a different time or stylist.\n\n" +
-                "Best regards,\n" +
-                "Salon Management Team",
-                booking.getCustomer().getName(),
-                booking.getStylist().getName(),
-                booking.getService().getName(),
-                formattedDateTime
-            );
-            
-            message.setText(emailBody);
             mailSender.send(message);
-            
-        } catch (Exception e) {
-            System.err.println("Failed to send rejection email: " + e.getMessage());
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            meterRegistry.counter("salon.email.send.failures", "exception", e.getClass().getSimpleName()).increment();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("salon.email.send")
+                    .description("SMTP delivery attempts")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
     }
+
+    private void enqueue(EmailOutbox email) {
+        outboxRepository.save(email);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.salon.booking.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.salon.booking.dto.BookingSummary;
+import com.salon.booking.dto.FeedbackSummary;
+import com.salon.booking.repository.BookingRepository;
+import com.salon.booking.repository.FeedbackRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes full booking and feedback dumps as NDJSON or CSV. Rows are streamed from the database
+ * as projections (nothing accumulates in the persistence context) and written straight to the
+ * response, flushing every {@value #FLUSH_EVERY_ROWS} rows, so memory use does not depend on
+ * the size of the export.
+ *
+ * <p>Connector/J buffers a whole result set unless the fetch size is {@code Integer.MIN_VALUE},
+ * which streams rows one by one over the export's own connection. That fetch size is set only on
+ * the export queries, so the rest of the pool keeps client-side prepared statements. H2 rejects a
+ * negative fetch size; H2 setups set {@code salon.export.fetch-size} to a positive batch.
+ */
+@Service
+public class ExportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    private static final List<String> BOOKING_COLUMNS = List.of(
+            "id", "booking_datetime", "status", "service_id", "service_name", "price", "duration_minutes",
+            "stylist_id", "stylist_name", "customer_id", "customer_name", "customer_email", "notes", "created_at");
+
+    private static final List<String> FEEDBACK_COLUMNS = List.of(
+            "id", "created_at", "rating", "comment", "stylist_id", "stylist_name", "customer_id", "customer_name",
+            "booking_id", "booking_datetime", "service_name");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${salon.export.fetch-size:" + Integer.MIN_VALUE + "}")
+    private int fetchSize;
+
+    // Streaming queries need their connection open until the last row has been written
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void writeBookings(OutputStream out, Format format, LocalDateTime from, LocalDateTime to) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<BookingSummary> rows =
+                         stream(BookingRepository.EXPORT_QUERY, BookingSummary.class, from, to)) {
+                write(out, format, rows, BOOKING_COLUMNS, b -> Arrays.asList(
+                        b.id(), b.bookingDateTime(), b.status(), b.service().id(), b.service().name(),
+                        b.service().price(), b.service().durationMinutes(), b.stylist().id(), b.stylist().name(),
+                        b.customer().id(), b.customer().name(), b.customer().email(), b.notes(), b.createdAt()));
+            }
+        });
+    }
+
+    public void writeFeedback(OutputStream out, Format format, LocalDateTime from, LocalDateTime to) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<FeedbackSummary> rows =
+                         stream(FeedbackRepository.EXPORT_QUERY, FeedbackSummary.class, from, to)) {
+                write(out, format, rows, FEEDBACK_COLUMNS, f -> Arrays.asList(
+                        f.id(), f.createdAt(), f.rating(), f.comment(), f.stylist().id(), f.stylist().name(),
+                        f.customer().id(), f.customer().name(), f.booking().id(), f.booking().bookingDateTime(),
+                        f.booking().service().name()));
+            }
+        });
+    }
+
+    private <T> Stream<T> stream(String query, Class<T> type, LocalDateTime from, LocalDateTime to) {
+        return entityManager.createQuery(query, type)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    private <T> void write(OutputStream out, Format format, Stream<T> rows, List<String> columns,
+                           Function<T, List<Object>> csvValues) {
+        try {
+            if (format == Format.CSV) {
+                writeCsv(out, rows.iterator(), columns, csvValues);
+            } else {
+                writeNdjson(out, rows.iterator());
+            }
+        } catch (IOException e) {
+            // Most likely the client went away; the transaction rolls back and the stream closes
+            throw new UncheckedIOException("Export aborted: " + e.getMessage(), e);
+        }
+    }
+
+    private <T> void writeNdjson(OutputStream out, Iterator<T> rows) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(generator)) {
+            int written = 0;
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+                if (++written % FLUSH_EVERY_ROWS == 0) {
+                    writer.flush();
+                }
+            }
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        out.flush();
+    }
+
+    private <T> void writeCsv(OutputStream out, Iterator<T> rows, List<String> columns,
+                              Function<T, List<Object>> values) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvLine(writer, columns);
+        int written = 0;
+        while (rows.hasNext()) {
+            writeCsvLine(writer, values.apply(rows.next()));
+            if (++written % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180 quoting; fields starting with a formula character are prefixed so spreadsheets
+    // do not evaluate customer-supplied text
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0 && !(value instanceof Number)) {
+            text = "'" + text;
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
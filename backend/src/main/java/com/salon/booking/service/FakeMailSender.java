@@ -0,0 +1,84 @@
+package com.salon.booking.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-in for the SMTP server, enabled with {@code salon.mail.fake=true}. Messages are kept
+ * in memory instead of being sent; latency and failures can be injected to exercise the outbox
+ * retry and circuit-breaker paths without a real mail server.
+ */
+@Component
+@ConditionalOnProperty(name = "salon.mail.fake", havingValue = "true")
+public class FakeMailSender extends JavaMailSenderImpl {
+
+    private static final Logger log = LoggerFactory.getLogger(FakeMailSender.class);
+
+    private static final int MAX_RETAINED = 1000;
+
+    private final Deque<MimeMessage> sent = new ConcurrentLinkedDeque<>();
+
+    @Value("${salon.mail.fake.latency-ms:0}")
+    private long latencyMillis;
+
+    @Value("${salon.mail.fake.failure-rate:0.0}")
+    private double failureRate;
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new MailSendException("Simulated SMTP failure");
+        }
+        for (MimeMessage message : mimeMessages) {
+            sent.addLast(message);
+            if (sent.size() > MAX_RETAINED) {
+                sent.pollFirst();
+            }
+            if (log.isDebugEnabled()) {
+                try {
+                    log.debug("to={} subject={}", String.join(",", toStrings(message)), message.getSubject());
+                } catch (MessagingException e) {
+                    throw new MailSendException("Unreadable message", e);
+                }
+            }
+        }
+    }
+
+    public List<MimeMessage> getSentMessages() {
+        return new ArrayList<>(sent);
+    }
+
+    public void clear() {
+        sent.clear();
+    }
+
+    private static List<String> toStrings(MimeMessage message) throws MessagingException {
+        List<String> recipients = new ArrayList<>();
+        if (message.getAllRecipients() != null) {
+            for (var address : message.getAllRecipients()) {
+                recipients.add(address.toString());
+            }
+        }
+        return recipients;
+    }
+}
@@ -1,12 +1,19 @@
 package com.salon.booking.service;
 
+import com.salon.booking.dto.CursorPage;
+import com.salon.booking.dto.FeedbackSummary;
+import com.salon.booking.dto.PageCursor;
 import com.salon.booking.entity.Feedback;
 import com.salon.booking.entity.User;
 import com.salon.booking.entity.Booking;
+import com.salon.booking.event.FeedbackEvent;
 import com.salon.booking.repository.FeedbackRepository;
 import com.salon.booking.repository.UserRepository;
 import com.salon.booking.repository.BookingRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -24,16 +31,37 @@ public class FeedbackService {
     @Autowired
     private BookingRepository bookingRepository;
 
-    public List<Feedback> getAllFeedback() {
-        return feedbackRepository.findAllFeedbackOrderByCreatedAtDesc();
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private StylistRatingService stylistRatingService;
+
+    /**
+     * One keyset page of feedback, newest first. Null filters are ignored; {@code maxRating}
+     * narrows the list down to low ratings.
+     */
+    public CursorPage<FeedbackSummary> getFeedbackPage(Long stylistId, Long customerId, Integer maxRating,
+                                                       String cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        Pageable fetch = PageRequest.of(0, pageSize + 1);
+        List<FeedbackSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = feedbackRepository.findSummaryPage(stylistId, customerId, maxRating, fetch);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = feedbackRepository.findSummaryPageAfter(stylistId, customerId, maxRating,
+                    after.position(), after.id(), fetch);
+        }
+        return CursorPage.of(rows, pageSize, f -> new PageCursor(f.createdAt(), f.id()));
     }
 
-    public List<Feedback> getFeedbackByCustomer(Long customerId) {
-        return feedbackRepository.findByCustomerId(customerId);
+    public List<FeedbackSummary> getFeedbackByCustomer(Long customerId) {
+        return feedbackRepository.findSummariesByCustomerId(customerId);
     }
 
-    public List<Feedback> getFeedbackByStylist(Long stylistId) {
-        return feedbackRepository.findByStylistId(stylistId);
+    public List<FeedbackSummary> getFeedbackByStylist(Long stylistId) {
+        return feedbackRepository.findSummariesByStylistId(stylistId);
     }
 
     public Optional<Feedback> getFeedbackById(Long id) {
@@ -74,7 +102,9 @@ public class FeedbackService {
             feedback.setRating(rating);
             feedback.setComment(comment);
 
-            return feedbackRepository.save(feedback);
+            Feedback savedFeedback = feedbackRepository.save(feedback);
+            eventPublisher.publishEvent(FeedbackEvent.created(savedFeedback));
+            return savedFeedback;
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to create feedback: " + e.getMessage());
@@ -82,10 +112,17 @@ public class FeedbackService {
     }
 
     public Double getAverageRatingForStylist(Long stylistId) {
-        return feedbackRepository.getAverageRatingByStylistId(stylistId);
+        return (Double) stylistRatingService.getRating(stylistId).get("averageRating");
     }
 
     public void deleteFeedback(Long id) {
-        feedbackRepository.deleteById(id);
+        Optional<Feedback> feedbackOptional = feedbackRepository.findById(id);
+        if (feedbackOptional.isPresent()) {
+            FeedbackEvent event = FeedbackEvent.deleted(feedbackOptional.get());
+            feedbackRepository.delete(feedbackOptional.get());
+            eventPublisher.publishEvent(event);
+            return;
+        }
+        throw new RuntimeException("Feedback not found");
     }
 }
\ No newline at end of file
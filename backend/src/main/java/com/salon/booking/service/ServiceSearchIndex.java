@@ -0,0 +1,369 @@
+package com.salon.booking.service;
+
+import com.salon.booking.dto.ServiceSummary;
+import com.salon.booking.repository.ServiceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search index over service name, description and stylist specialization.
+ * Words are kept in a sorted vocabulary for prefix lookups and in a trigram index for infix
+ * and typo-tolerant (small edit distance) lookups. ServiceService keeps it in step with
+ * catalog writes; a periodic rebuild picks up writes made by other nodes.
+ */
+@Component
+public class ServiceSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceSearchIndex.class);
+
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    // Field bits stored in the postings, and how much a match in each field counts
+    private static final int NAME = 1;
+    private static final int SPECIALIZATION = 2;
+    private static final int DESCRIPTION = 4;
+
+    private static final double EXACT = 1.0;
+    private static final double PREFIX = 0.8;
+    private static final double ONE_EDIT = 0.6;
+    private static final double INFIX = 0.5;
+    private static final double TWO_EDITS = 0.4;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    private long mutations;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${salon.search.rebuild-interval-ms:600000}",
+               initialDelayString = "${salon.search.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        for (int attempt = 1; attempt <= MAX_LOAD_ATTEMPTS; attempt++) {
+            long mutationsBeforeLoad = readMutations();
+            Index rebuilt = new Index();
+            for (ServiceSummary service : serviceRepository.findAllSummaries()) {
+                rebuilt.add(service);
+            }
+            lock.writeLock().lock();
+            try {
+                // A write that landed while loading may be missing from the snapshot
+                if (mutations == mutationsBeforeLoad) {
+                    index = rebuilt;
+                    return;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.warn("Service search index rebuild skipped after {} attempts: catalog kept changing during load",
+                MAX_LOAD_ATTEMPTS);
+    }
+
+    public void put(ServiceSummary service) {
+        lock.writeLock().lock();
+        try {
+            mutations++;
+            index.remove(service.id());
+            index.add(service);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long serviceId) {
+        lock.writeLock().lock();
+        try {
+            mutations++;
+            index.remove(serviceId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceStylistServices(Long stylistId, Collection<ServiceSummary> services) {
+        lock.writeLock().lock();
+        try {
+            mutations++;
+            index.removeStylist(stylistId);
+            for (ServiceSummary service : services) {
+                index.add(service);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the services matching every word of the query, best match first.
+     */
+    public List<ServiceSummary> search(String query) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(terms);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long readMutations() {
+        lock.readLock().lock();
+        try {
+            return mutations;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase();
+        for (String token : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Trigrams of the word padded with '$' so that word starts and ends are grams of their own
+    private static Set<String> paddedTrigrams(String token) {
+        String padded = "$" + token + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static double fieldWeight(int fields) {
+        if ((fields & NAME) != 0) {
+            return 3.0;
+        }
+        if ((fields & SPECIALIZATION) != 0) {
+            return 2.0;
+        }
+        return 1.0;
+    }
+
+    // Edit distance counting adjacent transpositions as one edit (optimal string alignment),
+    // giving up as soon as it must exceed maxDistance
+    private static int boundedEditDistance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static final class Index {
+        private final Map<Long, ServiceSummary> services = new HashMap<>();
+        private final Map<Long, Set<String>> tokensByService = new HashMap<>();
+        // word -> (service id -> fields the word occurs in)
+        private final TreeMap<String, Map<Long, Integer>> vocabulary = new TreeMap<>();
+        private final Map<String, Set<String>> wordsByTrigram = new HashMap<>();
+
+        void add(ServiceSummary service) {
+            Map<String, Integer> fieldsByToken = new HashMap<>();
+            collect(fieldsByToken, service.name(), NAME);
+            collect(fieldsByToken, service.description(), DESCRIPTION);
+            if (service.stylist() != null) {
+                collect(fieldsByToken, service.stylist().specialization(), SPECIALIZATION);
+            }
+            services.put(service.id(), service);
+            tokensByService.put(service.id(), fieldsByToken.keySet());
+            fieldsByToken.forEach((token, fields) -> {
+                Map<Long, Integer> postings = vocabulary.get(token);
+                if (postings == null) {
+                    postings = new HashMap<>();
+                    vocabulary.put(token, postings);
+                    for (String gram : paddedTrigrams(token)) {
+                        wordsByTrigram.computeIfAbsent(gram, g -> new HashSet<>()).add(token);
+                    }
+                }
+                postings.put(service.id(), fields);
+            });
+        }
+
+        void remove(Long serviceId) {
+            services.remove(serviceId);
+            Set<String> tokens = tokensByService.remove(serviceId);
+            if (tokens == null) {
+                return;
+            }
+            for (String token : tokens) {
+                Map<Long, Integer> postings = vocabulary.get(token);
+                postings.remove(serviceId);
+                if (postings.isEmpty()) {
+                    vocabulary.remove(token);
+                    for (String gram : paddedTrigrams(token)) {
+                        Set<String> words = wordsByTrigram.get(gram);
+                        words.remove(token);
+                        if (words.isEmpty()) {
+                            wordsByTrigram.remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+
+        void removeStylist(Long stylistId) {
+            List<Long> serviceIds = new ArrayList<>();
+            for (ServiceSummary service : services.values()) {
+                if (service.stylist() != null && stylistId.equals(service.stylist().id())) {
+                    serviceIds.add(service.id());
+                }
+            }
+            serviceIds.forEach(this::remove);
+        }
+
+        List<ServiceSummary> search(List<String> terms) {
+            Map<Long, Double> scores = null;
+            for (String term : terms) {
+                Map<Long, Double> termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Every query word has to match somewhere
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            Map<Long, Double> finalScores = scores;
+            return finalScores.keySet().stream()
+                    .map(services::get)
+                    .sorted(Comparator.comparingDouble((ServiceSummary s) -> finalScores.get(s.id())).reversed()
+                            .thenComparing(ServiceSummary::name, String.CASE_INSENSITIVE_ORDER)
+                            .thenComparing(ServiceSummary::id))
+                    .toList();
+        }
+
+        // Best score per service for one query word
+        private Map<Long, Double> scoreTerm(String term) {
+            Map<String, Double> matches = new HashMap<>();
+            for (String word : vocabulary.subMap(term, true, term + Character.MAX_VALUE, false).keySet()) {
+                matches.put(word, word.equals(term) ? EXACT : PREFIX);
+            }
+            if (term.length() >= 3) {
+                for (String word : infixCandidates(term)) {
+                    if (word.contains(term)) {
+                        matches.putIfAbsent(word, INFIX);
+                    }
+                }
+            }
+            if (term.length() >= 4) {
+                int maxEdits = term.length() >= 8 ? 2 : 1;
+                for (String word : fuzzyCandidates(term, maxEdits)) {
+                    int distance = boundedEditDistance(term, word, maxEdits);
+                    if (distance > 0 && distance <= maxEdits) {
+                        matches.merge(word, distance == 1 ? ONE_EDIT : TWO_EDITS, Math::max);
+                    }
+                }
+            }
+
+            Map<Long, Double> scores = new HashMap<>();
+            matches.forEach((word, matchScore) ->
+                    vocabulary.get(word).forEach((serviceId, fields) ->
+                            scores.merge(serviceId, matchScore * fieldWeight(fields), Math::max)));
+            return scores;
+        }
+
+        // Words containing every inner trigram of the term
+        private Set<String> infixCandidates(String term) {
+            Set<String> candidates = null;
+            for (int i = 0; i + 3 <= term.length(); i++) {
+                Set<String> words = wordsByTrigram.getOrDefault(term.substring(i, i + 3), Set.of());
+                if (candidates == null) {
+                    candidates = new HashSet<>(words);
+                } else {
+                    candidates.retainAll(words);
+                }
+                if (candidates.isEmpty()) {
+                    break;
+                }
+            }
+            return candidates != null ? candidates : Set.of();
+        }
+
+        // An edit touches at most four padded trigrams (a transposition), so words within
+        // maxEdits of the term share all but 4 * maxEdits of its trigrams
+        private Set<String> fuzzyCandidates(String term, int maxEdits) {
+            Set<String> grams = paddedTrigrams(term);
+            int minShared = Math.max(1, grams.size() - 4 * maxEdits);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String gram : grams) {
+                for (String word : wordsByTrigram.getOrDefault(gram, Set.of())) {
+                    shared.merge(word, 1, Integer::sum);
+                }
+            }
+            Set<String> candidates = new HashSet<>();
+            shared.forEach((word, count) -> {
+                if (count >= minShared) {
+                    candidates.add(word);
+                }
+            });
+            return candidates;
+        }
+
+        private static void collect(Map<String, Integer> fieldsByToken, String text, int field) {
+            for (String token : tokenize(text)) {
+                fieldsByToken.merge(token, field, (a, b) -> a | b);
+            }
+        }
+    }
+}
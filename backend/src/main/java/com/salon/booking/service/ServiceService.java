@@ -1,65 +1,51 @@
 package com.salon.booking.service;
 
+import com.salon.booking.dto.ServiceSummary;
 import com.salon.booking.entity.Service;
 import com.salon.booking.entity.User;
+import com.salon.booking.event.UserEvent;
 import com.salon.booking.repository.ServiceRepository;
 import com.salon.booking.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import java.util.ArrayList;
-import java.util.List;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @org.springframework.stereotype.Service
 public class ServiceService {
 
+    public static final String ALL_SERVICES_CACHE = "services";
+    public static final String STYLIST_SERVICES_CACHE = "servicesByStylist";
+
     @Autowired
     private ServiceRepository serviceRepository;
 
     @Autowired
     private UserRepository userRepository;
 
-    public List<Service> getAllServices() {
-        try {
-            List<Service> services = serviceRepository.findAll();
-            // Ensure all lazy collections are properly handled
-            if (services != null) {
-                services.forEach(service -> {
-                    // Force initialization of stylist data we need
-                    if (service.getStylist() != null) {
-                        service.getStylist().getName(); // Initialize name
-                        service.getStylist().getEmail(); // Initialize email
-                    }
-                });
-            }
-            return services != null ? services : new ArrayList<>();
-        } catch (Exception e) {
-            System.err.println("Error fetching all services: " + e.getMessage());
-            e.printStackTrace();
-            return new ArrayList<>();
-        }
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ServiceSearchIndex searchIndex;
+
+    // sync = true lets a single caller load a missing entry while concurrent callers wait for it.
+    // Eviction of an entry that is being loaded waits for the load to finish, so a load that read
+    // the catalog before a write cannot repopulate the cache after that write's eviction.
+    // Failures are not caught here so that an error is never cached as an empty catalog.
+    @Cacheable(cacheNames = ALL_SERVICES_CACHE, key = "'all'", sync = true)
+    public List<ServiceSummary> getAllServices() {
+        return List.copyOf(serviceRepository.findAllSummaries());
     }
 
-    public List<Service> getServicesByStylist(Long stylistId) {
-        try {
-            List<Service> services = serviceRepository.findByStylistId(stylistId);
-            // Ensure all lazy collections are properly handled
-            if (services != null) {
-                services.forEach(service -> {
-                    // Force initialization of stylist data we need
-                    if (service.getStylist() != null) {
-                        service.getStylist().getName();
-                        service.getStylist().getEmail();
-                    }
-                });
-            }
-            return services != null ? services : new ArrayList<>();
-        } catch (Exception e) {
-            System.err.println("Error fetching services for stylist " + stylistId + ": " + e.getMessage());
-            e.printStackTrace();
-            return new ArrayList<>();
-        }
+    @Cacheable(cacheNames = STYLIST_SERVICES_CACHE, key = "#stylistId", sync = true)
+    public List<ServiceSummary> getServicesByStylist(Long stylistId) {
+        return List.copyOf(serviceRepository.findSummariesByStylistId(stylistId));
     }
 
     public Optional<Service> getServiceById(Long id) {
@@ -67,19 +53,46 @@ public class ServiceService {
     }
 
     public Service createService(Service service) {
-        return serviceRepository.save(service);
+        Service saved = serviceRepository.save(service);
+        evictCatalog(saved.getStylist() != null ? saved.getStylist().getId() : null);
+        serviceRepository.findSummaryById(saved.getId()).ifPresent(searchIndex::put);
+        return saved;
     }
 
     public Service updateService(Service service) {
-        return serviceRepository.save(service);
+        // A service moved to another stylist also leaves the previous stylist's cached list
+        Optional<Long> previousStylistId = service.getId() != null
+                ? serviceRepository.findStylistIdById(service.getId())
+                : Optional.empty();
+        Service saved = serviceRepository.save(service);
+        previousStylistId.ifPresent(this::evictCatalog);
+        evictCatalog(saved.getStylist() != null ? saved.getStylist().getId() : null);
+        serviceRepository.findSummaryById(saved.getId()).ifPresent(searchIndex::put);
+        return saved;
     }
 
     public void deleteService(Long id) {
-        serviceRepository.deleteById(id);
+        Optional<Service> serviceOptional = serviceRepository.findById(id);
+        if (serviceOptional.isEmpty()) {
+            return;
+        }
+        serviceRepository.delete(serviceOptional.get());
+        evictCatalog(serviceOptional.get().getStylist().getId());
+        searchIndex.remove(id);
     }
 
-    public List<Service> searchServicesByName(String name) {
-        return serviceRepository.findByNameContainingIgnoreCase(name);
+    // Ranked matches on name, description and stylist specialization, one page at a time
+    public Map<String, Object> searchServicesByName(String query, int page, int size) {
+        List<ServiceSummary> matches = searchIndex.search(query);
+        int from = (int) Math.min((long) page * size, matches.size());
+        int to = Math.min(from + size, matches.size());
+        return Map.of(
+            "results", matches.subList(from, to),
+            "page", page,
+            "size", size,
+            "totalElements", matches.size(),
+            "totalPages", (matches.size() + size - 1) / size
+        );
     }
 
     public Service createServiceForStylist(Long stylistId, Service service) {
@@ -87,7 +100,10 @@ public class ServiceService {
             Optional<User> stylistOptional = userRepository.findById(stylistId);
             if (stylistOptional.isPresent() && stylistOptional.get().getRole() == User.Role.STYLIST) {
                 service.setStylist(stylistOptional.get());
-                return serviceRepository.save(service);
+                Service saved = serviceRepository.save(service);
+                evictCatalog(stylistId);
+                serviceRepository.findSummaryById(saved.getId()).ifPresent(searchIndex::put);
+                return saved;
             }
             throw new RuntimeException("Stylist not found or invalid role");
         } catch (Exception e) {
@@ -95,4 +111,28 @@ public class ServiceService {
             throw new RuntimeException("Failed to create service: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    // Service summaries embed the stylist's name, email and specialization, and deleting a
+    // stylist cascades to their services
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        if (event.getRole() == User.Role.STYLIST && event.getType() != UserEvent.Type.CREATED) {
+            evictCatalog(event.getUserId());
+            List<ServiceSummary> services = event.getType() == UserEvent.Type.DELETED
+                    ? List.of()
+                    : serviceRepository.findSummariesByStylistId(event.getUserId());
+            searchIndex.replaceStylistServices(event.getUserId(), services);
+        }
+    }
+
+    private void evictCatalog(Long stylistId) {
+        Cache allServices = cacheManager.getCache(ALL_SERVICES_CACHE);
+        if (allServices != null) {
+            allServices.evict("all");
+        }
+        Cache stylistServices = cacheManager.getCache(STYLIST_SERVICES_CACHE);
+        if (stylistServices != null && stylistId != null) {
+            stylistServices.evict(stylistId);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.salon.booking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped in-JVM locks keyed by stylist. Requests for the same stylist queue here instead of
+ * piling up on the stylist's row lock in the database; requests for different stylists only
+ * share a stripe when their ids hash together.
+ */
+@Component
+public class StylistLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public StylistLocks(@Value("${salon.booking.lock-stripes:64}") int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("salon.booking.lock-stripes must be positive");
+        }
+        stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T callWithLock(Long stylistId, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripeIndex(stylistId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Stripes are taken in index order so two multi-stylist callers cannot deadlock
+    public <T> T callWithLocks(Collection<Long> stylistIds, Supplier<T> action) {
+        SortedSet<Integer> indexes = new TreeSet<>();
+        for (Long stylistId : stylistIds) {
+            indexes.add(stripeIndex(stylistId));
+        }
+        List<ReentrantLock> held = new ArrayList<>();
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                held.add(stripes[index]);
+            }
+            return action.get();
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+
+    private int stripeIndex(Long stylistId) {
+        return Math.floorMod(Long.hashCode(stylistId), stripes.length);
+    }
+}
@@ -0,0 +1,156 @@
+package com.salon.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.salon.booking.event.FeedbackEvent;
+import com.salon.booking.event.UserEvent;
+import com.salon.booking.repository.FeedbackRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Per-stylist rating aggregates (sum, count and a 1-5 histogram). A stylist's aggregate is
+ * loaded with one GROUP BY query the first time it is needed and kept until feedback for that
+ * stylist changes, so rating lookups no longer run AVG over all of a stylist's feedback.
+ *
+ * <p>Feedback events drop the stylist's aggregate rather than adjust it: they arrive after
+ * commit, when a concurrent load may already have counted the new row, and adding it again
+ * would count it twice. The next lookup reloads from the database.
+ *
+ * <p>Ids come straight from request parameters, so the cache is bounded
+ * (salon.ratings.max-stylists); an evicted aggregate only costs a reload.
+ */
+@Service
+public class StylistRatingService {
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Value("${salon.ratings.max-stylists:10000}")
+    private long maxStylists;
+
+    private Cache<Long, RatingAggregate> aggregates;
+
+    // Bumped on every change so a load that raced with an event is not cached. Changed and
+    // compared under the same lock as the cache writes, so no event slips between check and put
+    private final Object versionLock = new Object();
+    private volatile long version;
+
+    @PostConstruct
+    void init() {
+        aggregates = Caffeine.newBuilder().maximumSize(maxStylists).build();
+    }
+
+    public Map<String, Object> getRating(Long stylistId) {
+        return getRatings(List.of(stylistId)).get(stylistId);
+    }
+
+    public Map<Long, Map<String, Object>> getRatings(Collection<Long> stylistIds) {
+        Map<Long, RatingAggregate> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long stylistId : stylistIds) {
+            RatingAggregate aggregate = aggregates.getIfPresent(stylistId);
+            if (aggregate != null) {
+                found.put(stylistId, aggregate);
+            } else {
+                missing.add(stylistId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            found.putAll(load(missing));
+        }
+
+        Map<Long, Map<String, Object>> ratings = new LinkedHashMap<>();
+        for (Long stylistId : stylistIds) {
+            ratings.put(stylistId, found.get(stylistId).toResponse(stylistId));
+        }
+        return ratings;
+    }
+
+    // Only what is already loaded; never touches the database, so non-blocking callers can use it
+    public Optional<Map<String, Object>> getCachedRating(Long stylistId) {
+        return Optional.ofNullable(aggregates.getIfPresent(stylistId)).map(aggregate -> aggregate.toResponse(stylistId));
+    }
+
+    // Same response shape from per-rating counts the caller loaded itself
+    public Map<String, Object> toRating(Long stylistId, Map<Integer, Long> countsByRating) {
+        RatingAggregate aggregate = new RatingAggregate();
+        countsByRating.forEach((rating, count) -> aggregate.apply(rating, count.intValue()));
+        return aggregate.toResponse(stylistId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackEvent(FeedbackEvent event) {
+        synchronized (versionLock) {
+            version++;
+            aggregates.invalidate(event.getStylistId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        // Deleting a customer cascades to their feedback for any number of stylists
+        if (event.getType() == UserEvent.Type.DELETED) {
+            synchronized (versionLock) {
+                version++;
+                aggregates.invalidateAll();
+            }
+        }
+    }
+
+    private Map<Long, RatingAggregate> load(List<Long> stylistIds) {
+        long versionBeforeLoad = version;
+        Map<Long, RatingAggregate> loaded = new HashMap<>();
+        for (Long stylistId : stylistIds) {
+            loaded.put(stylistId, new RatingAggregate());
+        }
+        for (Object[] row : feedbackRepository.countRatingsByStylistIds(stylistIds)) {
+            loaded.get((Long) row[0]).apply((Integer) row[1], ((Long) row[2]).intValue());
+        }
+        synchronized (versionLock) {
+            if (version == versionBeforeLoad) {
+                loaded.forEach((stylistId, aggregate) -> aggregates.asMap().putIfAbsent(stylistId, aggregate));
+            }
+        }
+        return loaded;
+    }
+
+    private static class RatingAggregate {
+        private long sum;
+        private long count;
+        private final long[] histogram = new long[5];
+
+        synchronized void apply(int rating, int delta) {
+            if (rating < 1 || rating > 5) {
+                return;
+            }
+            histogram[rating - 1] += delta;
+            sum += (long) rating * delta;
+            count += delta;
+        }
+
+        synchronized Map<String, Object> toResponse(Long stylistId) {
+            Map<String, Long> distribution = new LinkedHashMap<>();
+            for (int i = 0; i < histogram.length; i++) {
+                distribution.put(String.valueOf(i + 1), histogram[i]);
+            }
+            return Map.of(
+                    "stylistId", stylistId,
+                    "averageRating", count > 0 ? (double) sum / count : 0.0,
+                    "totalRatings", count,
+                    "histogram", distribution
+            );
+        }
+    }
+}
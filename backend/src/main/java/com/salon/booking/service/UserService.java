@@ -1,14 +1,26 @@
 package com.salon.booking.service;
 
 import com.salon.booking.dto.AuthResponse;
+import com.salon.booking.dto.CursorPage;
+import com.salon.booking.dto.CustomerActivity;
 import com.salon.booking.dto.LoginRequest;
+import com.salon.booking.dto.PageCursor;
 import com.salon.booking.dto.SignupRequest;
+import com.salon.booking.dto.UserSummary;
 import com.salon.booking.entity.User;
+import com.salon.booking.event.UserEvent;
 import com.salon.booking.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -17,6 +29,9 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public AuthResponse signup(SignupRequest signupRequest) {
         try {
             // Check if user already exists
@@ -36,6 +51,7 @@ public class UserService {
             }
 
             User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(UserEvent.created(savedUser));
             return new AuthResponse(savedUser, "User registered successfully", true);
 
         } catch (Exception e) {
@@ -67,9 +83,9 @@ public class UserService {
         }
     }
 
-    public List<User> getAllStylists() {
+    public List<UserSummary> getAllStylists() {
         try {
-            List<User> stylists = userRepository.findAllStylists();
+            List<UserSummary> stylists = userRepository.findSummariesByRole(User.Role.STYLIST);
             return stylists != null ? stylists : new ArrayList<>();
         } catch (Exception e) {
             System.err.println("Error fetching stylists: " + e.getMessage());
@@ -77,9 +93,9 @@ public class UserService {
         }
     }
 
-    public List<User> getAllCustomers() {
+    public List<UserSummary> getAllCustomers() {
         try {
-            List<User> customers = userRepository.findAllCustomers();
+            List<UserSummary> customers = userRepository.findSummariesByRole(User.Role.CUSTOMER);
             return customers != null ? customers : new ArrayList<>();
         } catch (Exception e) {
             System.err.println("Error fetching customers: " + e.getMessage());
@@ -91,20 +107,72 @@ public class UserService {
         return userRepository.findById(id);
     }
 
+    public Optional<UserSummary> getUserSummary(Long id) {
+        return userRepository.findSummaryById(id);
+    }
+
+    // One page of the stylist's customers with their booking activity; ties are broken by id
+    public Map<String, Object> getCustomersOfStylist(Long stylistId, CustomerActivity.SortField sortField,
+                                                     Sort.Direction direction, int page, int size) {
+        Sort sort = JpaSort.unsafe(direction, sortExpression(sortField)).and(JpaSort.unsafe(direction, "MIN(u.id)"));
+        Page<CustomerActivity> customers =
+                userRepository.findCustomerActivityByStylistId(stylistId, PageRequest.of(page, size, sort));
+        return Map.of(
+            "results", customers.getContent(),
+            "page", page,
+            "size", size,
+            "totalElements", customers.getTotalElements(),
+            "totalPages", customers.getTotalPages()
+        );
+    }
+
+    // Spring Data prefixes plain paths with the query's root alias (b.u.name), so grouped
+    // customer columns are sorted through MIN(), which is the value itself within a group
+    private static String sortExpression(CustomerActivity.SortField sortField) {
+        return switch (sortField) {
+            case NAME -> "MIN(u.name)";
+            case BOOKINGS -> "COUNT(b)";
+            case VISITS -> "SUM(CASE WHEN b.status = 'COMPLETED' THEN 1 ELSE 0 END)";
+            case LAST_BOOKING -> "MAX(b.bookingDateTime)";
+            case LAST_VISIT -> "MAX(CASE WHEN b.status = 'COMPLETED' THEN b.bookingDateTime END)";
+            case TOTAL_SPEND -> "COALESCE(SUM(CASE WHEN b.status = 'COMPLETED' THEN s.price END), 0)";
+        };
+    }
+
     public Optional<User> getUserByEmail(String email) {
         return userRepository.findByEmail(email);
     }
 
     public User updateUser(User user) {
         user.setUpdatedAt(java.time.LocalDateTime.now());
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserEvent.updated(savedUser));
+        return savedUser;
     }
 
     public void deleteUser(Long id) {
-        userRepository.deleteById(id);
+        Optional<User> userOptional = userRepository.findById(id);
+        if (userOptional.isPresent()) {
+            userRepository.delete(userOptional.get());
+            eventPublisher.publishEvent(UserEvent.deleted(userOptional.get()));
+            return;
+        }
+        throw new RuntimeException("User not found");
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    /**
+     * One keyset page of users, newest account first, optionally restricted to one role.
+     */
+    public CursorPage<UserSummary> getUserPage(User.Role role, String cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        Pageable fetch = PageRequest.of(0, pageSize + 1);
+        List<UserSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = userRepository.findSummaryPage(role, fetch);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = userRepository.findSummaryPageAfter(role, after.position(), after.id(), fetch);
+        }
+        return CursorPage.of(rows, pageSize, u -> new PageCursor(u.createdAt(), u.id()));
     }
 }
\ No newline at end of file
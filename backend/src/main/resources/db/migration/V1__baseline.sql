@@ -0,0 +1,62 @@
+-- Schema as spring.jpa.hibernate.ddl-auto=update created it for the application before
+-- migrations were introduced. Existing databases are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and only run the migrations after it, so this file must
+-- stay exactly that schema; everything added since belongs in a later version.
+
+CREATE TABLE users (
+    id bigint NOT NULL AUTO_INCREMENT,
+    name varchar(50) NOT NULL,
+    email varchar(255) NOT NULL,
+    password varchar(255) NOT NULL,
+    role enum ('ADMIN','CUSTOMER','STYLIST') NOT NULL,
+    specialization varchar(255),
+    created_at datetime(6),
+    updated_at datetime(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE services (
+    id bigint NOT NULL AUTO_INCREMENT,
+    name varchar(255) NOT NULL,
+    description varchar(500),
+    price decimal(10,2) NOT NULL,
+    duration_minutes integer NOT NULL,
+    stylist_id bigint NOT NULL,
+    created_at datetime(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE bookings (
+    id bigint NOT NULL AUTO_INCREMENT,
+    customer_id bigint NOT NULL,
+    stylist_id bigint NOT NULL,
+    service_id bigint NOT NULL,
+    booking_datetime datetime(6) NOT NULL,
+    status enum ('CANCELLED','COMPLETED','CONFIRMED','PENDING','REJECTED') NOT NULL,
+    notes varchar(500),
+    created_at datetime(6),
+    updated_at datetime(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE feedback (
+    id bigint NOT NULL AUTO_INCREMENT,
+    booking_id bigint NOT NULL,
+    customer_id bigint NOT NULL,
+    stylist_id bigint NOT NULL,
+    rating integer NOT NULL,
+    comment varchar(1000) NOT NULL,
+    created_at datetime(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+ALTER TABLE users ADD CONSTRAINT UK_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email);
+ALTER TABLE feedback ADD CONSTRAINT UK_32cetrrxomtxj5ujwkyc6rscg UNIQUE (booking_id);
+
+ALTER TABLE services ADD CONSTRAINT FKj2068nbhgkovupyb29hyhvy50 FOREIGN KEY (stylist_id) REFERENCES users (id);
+ALTER TABLE bookings ADD CONSTRAINT FKib6gjgj2e9binkktxmm175bmm FOREIGN KEY (customer_id) REFERENCES users (id);
+ALTER TABLE bookings ADD CONSTRAINT FKqs0601iru93h0o8b3yi2ktfek FOREIGN KEY (stylist_id) REFERENCES users (id);
+ALTER TABLE bookings ADD CONSTRAINT FKjcwbou2jlblfwu14uoxs65b25 FOREIGN KEY (service_id) REFERENCES services (id);
+ALTER TABLE feedback ADD CONSTRAINT FK2d6mwbywefil2s33do529yc7b FOREIGN KEY (booking_id) REFERENCES bookings (id);
+ALTER TABLE feedback ADD CONSTRAINT FKihnjta1253kjyigmt2vnqbg6b FOREIGN KEY (customer_id) REFERENCES users (id);
+ALTER TABLE feedback ADD CONSTRAINT FKnaq8vbw4ss0ie4jj5u5ur8lvx FOREIGN KEY (stylist_id) REFERENCES users (id);
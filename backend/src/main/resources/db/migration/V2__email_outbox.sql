@@ -0,0 +1,16 @@
+-- Transactional email outbox: booking notifications are written here in the booking's own
+-- transaction and delivered by EmailOutboxDispatcher.
+CREATE TABLE email_outbox (
+    id bigint NOT NULL AUTO_INCREMENT,
+    recipient varchar(255) NOT NULL,
+    subject varchar(255) NOT NULL,
+    body varchar(4000) NOT NULL,
+    status enum ('FAILED','PENDING','SENDING','SENT') NOT NULL,
+    attempts integer NOT NULL,
+    next_attempt_at datetime(6) NOT NULL,
+    claimed_at datetime(6),
+    last_error varchar(1000),
+    created_at datetime(6),
+    sent_at datetime(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
@@ -0,0 +1,7 @@
+-- Keyset pagination on the admin, stylist and customer list endpoints, ordered by
+-- (created_at, id) or (booking_datetime, id); InnoDB appends the primary key to every index.
+CREATE INDEX idx_users_role_created ON users (role, created_at);
+CREATE INDEX idx_bookings_datetime ON bookings (booking_datetime);
+CREATE INDEX idx_bookings_stylist_datetime ON bookings (stylist_id, booking_datetime);
+CREATE INDEX idx_bookings_customer_datetime ON bookings (customer_id, booking_datetime);
+CREATE INDEX idx_feedback_created ON feedback (created_at);
@@ -0,0 +1,20 @@
+-- Entity ids come in pooled blocks of 50 from this table (@TableGenerator on each entity)
+-- so Hibernate can batch inserts. Databases that ran with ddl-auto=update already have it.
+CREATE TABLE IF NOT EXISTS id_generators (
+    entity_name varchar(255) NOT NULL,
+    next_val bigint,
+    PRIMARY KEY (entity_name)
+) ENGINE=InnoDB;
+
+-- Rows numbered by AUTO_INCREMENT must not be handed out again: start every generator a full
+-- block above the highest id in its table, never moving one backwards
+INSERT INTO id_generators (entity_name, next_val) SELECT 'users', COALESCE(MAX(id), 0) + 51 FROM users
+    ON DUPLICATE KEY UPDATE next_val = GREATEST(COALESCE(next_val, 0), VALUES(next_val));
+INSERT INTO id_generators (entity_name, next_val) SELECT 'services', COALESCE(MAX(id), 0) + 51 FROM services
+    ON DUPLICATE KEY UPDATE next_val = GREATEST(COALESCE(next_val, 0), VALUES(next_val));
+INSERT INTO id_generators (entity_name, next_val) SELECT 'bookings', COALESCE(MAX(id), 0) + 51 FROM bookings
+    ON DUPLICATE KEY UPDATE next_val = GREATEST(COALESCE(next_val, 0), VALUES(next_val));
+INSERT INTO id_generators (entity_name, next_val) SELECT 'feedback', COALESCE(MAX(id), 0) + 51 FROM feedback
+    ON DUPLICATE KEY UPDATE next_val = GREATEST(COALESCE(next_val, 0), VALUES(next_val));
+INSERT INTO id_generators (entity_name, next_val) SELECT 'email_outbox', COALESCE(MAX(id), 0) + 51 FROM email_outbox
+    ON DUPLICATE KEY UPDATE next_val = GREATEST(COALESCE(next_val, 0), VALUES(next_val));
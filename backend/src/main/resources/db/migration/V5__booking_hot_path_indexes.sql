@@ -0,0 +1,20 @@
+-- Composite indexes for the filters and orderings the repositories use. Each one starts with
+-- the equality columns and ends with the range/sort column, so lookups and ORDER BY ... LIMIT
+-- read a contiguous slice of the index.
+
+-- Pending requests per stylist and stylist pages filtered by status
+CREATE INDEX idx_bookings_stylist_status_datetime ON bookings (stylist_id, status, booking_datetime);
+-- Admin pages filtered by status; also covers the per-status counts on the dashboard
+CREATE INDEX idx_bookings_status_datetime ON bookings (status, booking_datetime);
+
+-- Feedback lists and pages per stylist or customer, newest first
+CREATE INDEX idx_feedback_stylist_created ON feedback (stylist_id, created_at);
+CREATE INDEX idx_feedback_customer_created ON feedback (customer_id, created_at);
+-- Covers the rating average and histogram per stylist without touching the rows
+CREATE INDEX idx_feedback_stylist_rating ON feedback (stylist_id, rating);
+
+-- A stylist's services, newest first
+CREATE INDEX idx_services_stylist_created ON services (stylist_id, created_at);
+
+-- Outbox polling for due messages
+CREATE INDEX idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
@@ -0,0 +1,13 @@
+-- User and feedback pages continue after a (created_at, id) cursor with created_at < ?, which
+-- never matches NULL: rows without a creation time were unreachable past the first page and
+-- encoded a cursor that could not be decoded. Backfill them with the best time on hand, then
+-- require the column.
+
+-- A user's last update is the nearest known time; rows with neither sort last, as NULLs did
+UPDATE users SET created_at = COALESCE(updated_at, TIMESTAMP '1970-01-01 00:00:00') WHERE created_at IS NULL;
+-- Feedback is left once the appointment is done, i.e. by the booking's last status change
+UPDATE feedback SET created_at = (SELECT COALESCE(b.updated_at, b.booking_datetime) FROM bookings b
+    WHERE b.id = feedback.booking_id) WHERE created_at IS NULL;
+
+ALTER TABLE users MODIFY created_at datetime(6) NOT NULL;
+ALTER TABLE feedback MODIFY created_at datetime(6) NOT NULL;
@@ -0,0 +1,38 @@
+package com.salon.booking.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "salon.threads.virtual=true")
+@ActiveProfiles("h2")
+class VirtualThreadConfigTest {
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Autowired
+    @Qualifier("exportTaskExecutor")
+    private ThreadPoolTaskExecutor exportTaskExecutor;
+
+    @Autowired
+    @Qualifier("virtualThreadExecutor")
+    private ExecutorService virtualThreadExecutor;
+
+    @Test
+    void asyncRequestsRunOnTheBoundedExecutorWithVirtualThreads() throws Exception {
+        assertSame(exportTaskExecutor, ReflectionTestUtils.getField(handlerAdapter, "taskExecutor"));
+        assertTrue(exportTaskExecutor.submit(() -> Thread.currentThread().isVirtual()).get());
+        assertTrue(virtualThreadExecutor.submit(() -> Thread.currentThread().isVirtual()).get());
+    }
+}
@@ -0,0 +1,51 @@
+package com.salon.booking.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "salon.export.timeout-ms=1234567")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class AdminExportTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Autowired
+    @Qualifier("exportTaskExecutor")
+    private AsyncTaskExecutor exportTaskExecutor;
+
+    @Test
+    void exportRunsWithTheExportTimeout() throws Exception {
+        MvcResult result = mvc.perform(get("/api/admin/export/bookings").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(1234567, result.getRequest().getAsyncContext().getTimeout());
+        assertSame(exportTaskExecutor, ReflectionTestUtils.getField(handlerAdapter, "taskExecutor"));
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(startsWith("id,booking_datetime,status")));
+    }
+}
@@ -0,0 +1,117 @@
+package com.salon.booking.controller;
+
+import com.salon.booking.dto.UserSummary;
+import com.salon.booking.entity.User;
+import com.salon.booking.repository.reactive.ReactiveBookingRepository;
+import com.salon.booking.repository.reactive.ReactiveUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactiveCustomerControllerTest {
+
+    private final ReactiveUserRepository userRepository = mock(ReactiveUserRepository.class);
+    private final ReactiveBookingRepository bookingRepository = mock(ReactiveBookingRepository.class);
+    private final HttpClient client = HttpClient.newHttpClient();
+    private WebServer server;
+
+    @BeforeEach
+    void startServer() {
+        ReactiveCustomerController controller = new ReactiveCustomerController();
+        ReflectionTestUtils.setField(controller, "userRepository", userRepository);
+        ReflectionTestUtils.setField(controller, "bookingRepository", bookingRepository);
+        ReflectionTestUtils.setField(controller, "prefetch", 256);
+        server = new NettyReactiveWebServerFactory(0).getWebServer(RouterFunctions.toHttpHandler(controller.routes()));
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void completeListIsOk() throws Exception {
+        when(userRepository.findAllStylists()).thenReturn(Flux.just(stylist(1), stylist(2)));
+
+        HttpResponse<String> response = getStylists();
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("[") && response.body().endsWith("]"));
+    }
+
+    @Test
+    void queryThatFailsBeforeTheFirstRowIsAServerError() throws Exception {
+        when(userRepository.findAllStylists()).thenReturn(Flux.error(new RuntimeException("connection refused")));
+
+        HttpResponse<String> response = getStylists();
+
+        assertEquals(500, response.statusCode());
+        assertTrue(response.body().contains("connection refused"));
+    }
+
+    @Test
+    void errorAfterTheFirstRowsAbortsTheResponse() {
+        when(userRepository.findAllStylists()).thenReturn(Flux.just(stylist(1), stylist(2))
+                .concatWith(Mono.delay(Duration.ofMillis(200)).then(Mono.error(new RuntimeException("lost connection")))));
+
+        assertThrows(IOException.class, this::getStylists);
+    }
+
+    @Test
+    void malformedHistoryCursorIsABadRequest() throws Exception {
+        HttpResponse<String> response = get("/api/customer/bookings/history/1?cursor=not-a-cursor");
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("Invalid cursor"));
+    }
+
+    @Test
+    void failingHistoryQueryIsAServerError() throws Exception {
+        when(bookingRepository.findCustomerPage(eq(1L), any(), any(), any(), anyInt()))
+                .thenReturn(Flux.error(new RuntimeException("connection refused")));
+
+        HttpResponse<String> response = get("/api/customer/bookings/history/1");
+
+        assertEquals(500, response.statusCode());
+        assertTrue(response.body().contains("connection refused"));
+    }
+
+    private HttpResponse<String> getStylists() throws IOException, InterruptedException {
+        return get("/api/customer/stylists");
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        URI uri = URI.create("http://localhost:" + server.getPort() + path);
+        return client.send(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(10)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static UserSummary stylist(long id) {
+        return new UserSummary(id, "Stylist " + id, "stylist" + id + "@salon.local", User.Role.STYLIST,
+                "Colour", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,426 @@
+package com.salon.booking.repository;
+
+import com.salon.booking.entity.Booking;
+import com.salon.booking.entity.EmailOutbox;
+import com.salon.booking.entity.User;
+import com.salon.booking.service.ExportService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Runs every repository {@code @Query} (and the export queries) against MySQL, records the SQL Hibernate sends and checks
+ * its EXPLAIN plan: every table is read through an index and none is scanned in full. H2 plans say
+ * nothing about MySQL's, so it needs a MySQL server at SALON_TEST_MYSQL_URL (default: a scratch
+ * database on localhost) and fails without one; builds that have none opt out explicitly with
+ * -Dsalon.test.mysql.skip=true. The database is emptied and reseeded on each run.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class QueryPlanTest {
+
+    private static final String URL = System.getenv().getOrDefault("SALON_TEST_MYSQL_URL",
+            "jdbc:mysql://localhost:3306/salon_plan_test?createDatabaseIfNotExist=true");
+    private static final String USERNAME = System.getenv().getOrDefault("SALON_TEST_MYSQL_USERNAME", "root");
+    private static final String PASSWORD = System.getenv().getOrDefault("SALON_TEST_MYSQL_PASSWORD", "");
+
+    private static final int STYLISTS = 40;
+    private static final int CUSTOMERS = 1000;
+    private static final int SERVICES_PER_STYLIST = 3;
+    private static final int BOOKINGS = 20000;
+    private static final int FEEDBACK = 5000;
+    private static final int EMAILS = 2000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private static boolean seeded;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DynamicPropertySource
+    static void mysql(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> URL);
+        registry.add("spring.datasource.username", () -> USERNAME);
+        registry.add("spring.datasource.password", () -> PASSWORD);
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("salon.mail.fake", () -> "true");
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.username", () -> "test@salon.local");
+        registry.add("spring.mail.password", () -> "");
+        registry.add("salon.mail.outbox.poll-interval-ms", () -> "3600000");
+        registry.add("salon.mail.outbox.stale-check-interval-ms", () -> "3600000");
+    }
+
+    @BeforeAll
+    static void requireMysql() {
+        // Reported as skipped; a plan check that quietly does not run would look like a pass
+        assumeFalse(Boolean.getBoolean("salon.test.mysql.skip"), "MySQL plan checks skipped (salon.test.mysql.skip)");
+        DriverManager.setLoginTimeout(2);
+        try (Connection ignored = DriverManager.getConnection(URL, USERNAME, PASSWORD)) {
+            // reachable
+        } catch (SQLException e) {
+            fail("No MySQL server at " + URL + " (set SALON_TEST_MYSQL_URL, or pass -Dsalon.test.mysql.skip=true): "
+                    + e.getMessage());
+        }
+    }
+
+    @BeforeEach
+    void seedOnce() {
+        if (!seeded) {
+            seed();
+            seeded = true;
+        }
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    @Test
+    void bookingQueriesUseIndexes() {
+        LocalDateTime from = EPOCH.plusDays(100);
+        LocalDateTime to = from.plusDays(7);
+        assertIndexed("EXPORT_QUERY", () -> exportService.writeBookings(OutputStream.nullOutputStream(),
+                ExportService.Format.NDJSON, from, to));
+        assertIndexed("findSummaryById", () -> bookingRepository.findSummaryById(1L));
+        assertIndexed("findSummariesByCustomerId", () -> bookingRepository.findSummariesByCustomerId(customerId(0)));
+        assertIndexed("findSummaryPage", () -> bookingRepository.findSummaryPage(null, null, null,
+                PageRequest.ofSize(20)));
+        assertIndexed("findSummaryPage by stylist", () -> bookingRepository.findSummaryPage(
+                Booking.BookingStatus.CONFIRMED, stylistId(0), null, PageRequest.ofSize(20)));
+        assertIndexed("findSummaryPage by customer", () -> bookingRepository.findSummaryPage(
+                null, null, customerId(0), PageRequest.ofSize(20)));
+        assertIndexed("findSummaryPageAfter", () -> bookingRepository.findSummaryPageAfter(null, null, null,
+                from, 1000L, PageRequest.ofSize(20)));
+        assertIndexed("findSummaryPageAfter by stylist", () -> bookingRepository.findSummaryPageAfter(
+                null, stylistId(0), null, from, 1000L, PageRequest.ofSize(20)));
+        assertIndexed("findPendingSummariesByStylistId", () -> bookingRepository.findPendingSummariesByStylistId(
+                stylistId(0)));
+        assertIndexed("findWithPartiesById", () -> bookingRepository.findWithPartiesById(1L));
+        assertIndexed("findWithPartiesByIdIn", () -> bookingRepository.findWithPartiesByIdIn(List.of(1L, 2L, 3L)));
+        assertIndexed("updateStatusIfCurrent", () -> rolledBack(() -> bookingRepository.updateStatusIfCurrent(1L,
+                Booking.BookingStatus.PENDING, Booking.BookingStatus.PENDING, LocalDateTime.now())));
+        assertIndexed("countByStatus", () -> bookingRepository.countByStatus());
+        List<Booking.BookingStatus> occupying = List.of(Booking.BookingStatus.PENDING, Booking.BookingStatus.CONFIRMED);
+        assertIndexed("findStylistBookingsInWindow", () -> bookingRepository.findStylistBookingsInWindow(
+                stylistId(0), from, to, occupying));
+        assertIndexed("findStylistsBookingsInWindow", () -> bookingRepository.findStylistsBookingsInWindow(
+                List.of(stylistId(0), stylistId(1)), from, to, occupying));
+    }
+
+    @Test
+    void feedbackQueriesUseIndexes() {
+        LocalDateTime from = EPOCH.plusDays(100);
+        assertIndexed("EXPORT_QUERY", () -> exportService.writeFeedback(OutputStream.nullOutputStream(),
+                ExportService.Format.NDJSON, from, from.plusDays(7)));
+        assertIndexed("findSummaryPage", () -> feedbackRepository.findSummaryPage(null, null, null,
+                PageRequest.ofSize(20)));
+        assertIndexed("findSummaryPage by stylist", () -> feedbackRepository.findSummaryPage(stylistId(0), null, 2,
+                PageRequest.ofSize(20)));
+        assertIndexed("findSummaryPageAfter", () -> feedbackRepository.findSummaryPageAfter(null, null, null,
+                from, 1000L, PageRequest.ofSize(20)));
+        assertIndexed("findSummaryPageAfter by customer", () -> feedbackRepository.findSummaryPageAfter(
+                null, customerId(0), null, from, 1000L, PageRequest.ofSize(20)));
+        assertIndexed("findSummariesByCustomerId", () -> feedbackRepository.findSummariesByCustomerId(customerId(0)));
+        assertIndexed("findSummariesByStylistId", () -> feedbackRepository.findSummariesByStylistId(stylistId(0)));
+        assertIndexed("getAverageRatingByStylistId", () -> feedbackRepository.getAverageRatingByStylistId(
+                stylistId(0)));
+        assertIndexed("countRatingsByStylistIds", () -> feedbackRepository.countRatingsByStylistIds(
+                List.of(stylistId(0), stylistId(1))));
+    }
+
+    @Test
+    void serviceQueriesUseIndexes() {
+        assertIndexed("findAllSummaries", () -> serviceRepository.findAllSummaries());
+        assertIndexed("findSummaryById", () -> serviceRepository.findSummaryById(1L));
+        assertIndexed("findSummariesByStylistId", () -> serviceRepository.findSummariesByStylistId(stylistId(0)));
+        assertIndexed("findStylistIdById", () -> serviceRepository.findStylistIdById(1L));
+    }
+
+    @Test
+    void userQueriesUseIndexes() {
+        assertIndexed("findSummaryPage", () -> userRepository.findSummaryPage(null, PageRequest.ofSize(20)));
+        assertIndexed("findSummaryPage by role", () -> userRepository.findSummaryPage(User.Role.STYLIST,
+                PageRequest.ofSize(20)));
+        assertIndexed("findSummaryPageAfter", () -> userRepository.findSummaryPageAfter(User.Role.CUSTOMER,
+                EPOCH.plusDays(100), 500L, PageRequest.ofSize(20)));
+        assertIndexed("findSummaryById", () -> userRepository.findSummaryById(1L));
+        assertIndexed("findSummariesByRole", () -> userRepository.findSummariesByRole(User.Role.STYLIST));
+        // A page of one is always full, so the count query runs as well
+        assertIndexed("findCustomerActivityByStylistId", () -> userRepository.findCustomerActivityByStylistId(
+                stylistId(0), PageRequest.ofSize(1)));
+        assertIndexed("findByIdForUpdate", () -> transactionTemplate.executeWithoutResult(
+                status -> userRepository.findByIdForUpdate(stylistId(0))));
+        assertIndexed("findAllByIdForUpdate", () -> transactionTemplate.executeWithoutResult(
+                status -> userRepository.findAllByIdForUpdate(List.of(stylistId(0), stylistId(1)))));
+        assertIndexed("findAllStylists", () -> userRepository.findAllStylists());
+        assertIndexed("findAllCustomers", () -> userRepository.findAllCustomers());
+    }
+
+    @Test
+    void outboxQueriesUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        assertIndexed("findDueIds", () -> outboxRepository.findDueIds(now, PageRequest.ofSize(100)));
+        // The modifying queries are rolled back so every run sees the seeded outbox
+        assertIndexed("claim", () -> rolledBack(() -> outboxRepository.claim(1L, now)));
+        assertIndexed("release", () -> rolledBack(() -> outboxRepository.release(1L)));
+        assertIndexed("finish", () -> rolledBack(() -> outboxRepository.finish(1L, now,
+                EmailOutbox.Status.SENT, 1, now, null, now)));
+        assertIndexed("releaseStaleClaims", () -> rolledBack(() -> outboxRepository.releaseStaleClaims(
+                now.minusMinutes(5))));
+        assertIndexed("deleteSentBefore", () -> rolledBack(() -> outboxRepository.deleteSentBefore(
+                now.minusDays(30))));
+    }
+
+    private void rolledBack(Runnable statement) {
+        transactionTemplate.executeWithoutResult(status -> {
+            statement.run();
+            status.setRollbackOnly();
+        });
+    }
+
+    /** Runs {@code call} and checks the plan of every statement it sent from this thread. */
+    private void assertIndexed(String query, Runnable call) {
+        recorder.clear();
+        call.run();
+        List<RecordedStatement> statements = recorder.recorded(Thread.currentThread());
+        assertFalse(statements.isEmpty(), query + " sent no statement");
+        for (RecordedStatement statement : statements) {
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + statement.sql(),
+                    statement.parameters().toArray());
+            boolean readsTable = false;
+            for (Map<String, Object> row : plan) {
+                // Rows without a table are the optimizer's own steps, e.g. "Select tables optimized away"
+                if (row.get("table") == null) {
+                    continue;
+                }
+                readsTable = true;
+                assertNotEquals("ALL", row.get("type"), query + " scans " + row.get("table") + ": " + plan);
+                assertNotNull(row.get("key"), query + " reads " + row.get("table") + " without an index: " + plan);
+            }
+            assertTrue(readsTable, query + " has no table in its plan: " + plan);
+        }
+    }
+
+    private static long stylistId(int index) {
+        return index + 1;
+    }
+
+    private static long customerId(int index) {
+        return STYLISTS + index + 1;
+    }
+
+    /**
+     * Enough rows that the optimizer prefers the indexes it would use in production over reading
+     * small tables in full.
+     */
+    private void seed() {
+        for (String table : List.of("email_outbox", "feedback", "bookings", "services", "users")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        Random random = new Random(42);
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < STYLISTS + CUSTOMERS; i++) {
+            boolean stylist = i < STYLISTS;
+            Timestamp createdAt = Timestamp.valueOf(EPOCH.plusMinutes(random.nextInt(365 * 24 * 60)));
+            users.add(new Object[]{i + 1L, (stylist ? "Stylist " : "Customer ") + i, "user" + i + "@plan.test",
+                    "plan", stylist ? "STYLIST" : "CUSTOMER", stylist ? "Colour" : null, createdAt, createdAt});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email, password, role, specialization, created_at, "
+                + "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", users);
+
+        List<Object[]> services = new ArrayList<>();
+        for (int i = 0; i < STYLISTS * SERVICES_PER_STYLIST; i++) {
+            services.add(new Object[]{i + 1L, "Service " + i, "Plan test service", new BigDecimal("40.00"), 60,
+                    stylistId(i / SERVICES_PER_STYLIST), Timestamp.valueOf(EPOCH)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO services (id, name, description, price, duration_minutes, "
+                + "stylist_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", services);
+
+        Booking.BookingStatus[] statuses = Booking.BookingStatus.values();
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> feedback = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            int stylist = random.nextInt(STYLISTS);
+            long customer = customerId(random.nextInt(CUSTOMERS));
+            Timestamp at = Timestamp.valueOf(EPOCH.plusDays(random.nextInt(730)).plusHours(random.nextInt(8)));
+            bookings.add(new Object[]{i + 1L, customer, stylistId(stylist),
+                    stylist * SERVICES_PER_STYLIST + 1L + random.nextInt(SERVICES_PER_STYLIST), at,
+                    statuses[random.nextInt(statuses.length)].name(), at, at});
+            if (i < FEEDBACK) {
+                feedback.add(new Object[]{i + 1L, i + 1L, customer, stylistId(stylist), 1 + random.nextInt(5),
+                        "Plan test feedback", at});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, customer_id, stylist_id, service_id, booking_datetime, "
+                + "status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.batchUpdate("INSERT INTO feedback (id, booking_id, customer_id, stylist_id, rating, comment, "
+                + "created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", feedback);
+
+        List<Object[]> emails = new ArrayList<>();
+        for (int i = 0; i < EMAILS; i++) {
+            Timestamp at = Timestamp.valueOf(LocalDateTime.now().minusMinutes(EMAILS - i));
+            String status = i % 20 == 0 ? "PENDING" : i % 50 == 1 ? "SENDING" : "SENT";
+            emails.add(new Object[]{i + 1L, "user" + i + "@plan.test", "Plan test", "Body", status, 1, at,
+                    "SENDING".equals(status) ? at : null, at, "SENT".equals(status) ? at : null});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO email_outbox (id, recipient, subject, body, status, attempts, "
+                + "next_attempt_at, claimed_at, created_at, sent_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", emails);
+
+        for (String table : List.of("users", "services", "bookings", "feedback", "email_outbox")) {
+            jdbcTemplate.queryForList("ANALYZE TABLE " + table);
+        }
+    }
+
+    record RecordedStatement(Thread thread, String sql, List<Object> parameters) {
+    }
+
+    /** Records the SQL and bind values of every prepared statement executed through the pool. */
+    static class StatementRecorder implements BeanPostProcessor {
+
+        private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+        void clear() {
+            statements.clear();
+        }
+
+        List<RecordedStatement> recorded(Thread thread) {
+            return statements.stream().filter(statement -> statement.thread() == thread).toList();
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return intercept(dataSource, new Class<?>[]{DataSource.class, Closeable.class}, (method, args, result) ->
+                    method.getName().equals("getConnection") ? connection((Connection) result) : result);
+        }
+
+        private Object connection(Connection connection) {
+            return intercept(connection, new Class<?>[]{Connection.class}, (method, args, result) ->
+                    method.getName().equals("prepareStatement")
+                            ? statement((PreparedStatement) result, (String) args[0])
+                            : result);
+        }
+
+        private Object statement(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return intercept(statement, new Class<?>[]{PreparedStatement.class}, new Interceptor() {
+                @Override
+                public void before(Method method, Object[] args) {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        parameters.put(index, name.equals("setNull") ? null : args[1]);
+                    } else if (name.equals("clearParameters")) {
+                        parameters.clear();
+                    } else if (name.startsWith("execute") && isExplainable(sql)) {
+                        statements.add(new RecordedStatement(Thread.currentThread(), sql,
+                                new ArrayList<>(parameters.values())));
+                    }
+                }
+
+                @Override
+                public Object after(Method method, Object[] args, Object result) {
+                    return result;
+                }
+            });
+        }
+
+        private static boolean isExplainable(String sql) {
+            String verb = sql.stripLeading().toLowerCase(Locale.ROOT);
+            return verb.startsWith("select") || verb.startsWith("update") || verb.startsWith("delete");
+        }
+
+        private static Object intercept(Object target, Class<?>[] interfaces, Interceptor interceptor) {
+            return Proxy.newProxyInstance(QueryPlanTest.class.getClassLoader(), interfaces, (proxy, method, args) -> {
+                interceptor.before(method, args);
+                try {
+                    return interceptor.after(method, args, method.invoke(target, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+    }
+
+    interface Interceptor {
+        default void before(Method method, Object[] args) {
+        }
+
+        Object after(Method method, Object[] args, Object result) throws SQLException;
+    }
+
+    @TestConfiguration
+    static class RecorderConfig {
+
+        @Bean
+        static StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+    }
+}
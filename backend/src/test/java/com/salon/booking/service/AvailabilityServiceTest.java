@@ -0,0 +1,64 @@
+package com.salon.booking.service;
+
+import com.salon.booking.dto.BookingRequest;
+import com.salon.booking.entity.Booking;
+import com.salon.booking.entity.Service;
+import com.salon.booking.entity.User;
+import com.salon.booking.repository.ServiceRepository;
+import com.salon.booking.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "salon.availability.slot-minutes=30")
+@ActiveProfiles("h2")
+class AvailabilityServiceTest {
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Test
+    void cancellingABookingKeepsTheSlotItSharesWithItsNeighbour() {
+        String suffix = UUID.randomUUID().toString();
+        User stylist = userRepository.save(new User("Stylist", "stylist-" + suffix + "@salon.local", "secret", User.Role.STYLIST));
+        User customer = userRepository.save(new User("Customer", "customer-" + suffix + "@salon.local", "secret", User.Role.CUSTOMER));
+        Service service = serviceRepository.save(new Service("Trim", "Quick trim", new BigDecimal("20.00"), 45, stylist));
+        LocalDate day = LocalDate.now().plusDays(3);
+
+        bookingService.createBooking(customer.getId(),
+                new BookingRequest(stylist.getId(), service.getId(), day.atTime(10, 0), null));
+        Booking second = bookingService.createBooking(customer.getId(),
+                new BookingRequest(stylist.getId(), service.getId(), day.atTime(10, 45), null));
+        // Loads the day into the calendar before the release
+        assertFalse(freeHalfHours(stylist, day).contains(day.atTime(10, 30)));
+
+        bookingService.updateBookingStatus(second.getId(), Booking.BookingStatus.CANCELLED);
+
+        List<LocalDateTime> free = freeHalfHours(stylist, day);
+        assertFalse(free.contains(day.atTime(10, 30)), "10:00-10:45 still covers the 10:30 slot");
+        assertTrue(free.contains(day.atTime(11, 0)));
+    }
+
+    private List<LocalDateTime> freeHalfHours(User stylist, LocalDate day) {
+        return availabilityService.findFreeSlots(stylist.getId(), day, day, 30);
+    }
+}
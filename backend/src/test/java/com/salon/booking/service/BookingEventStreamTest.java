@@ -0,0 +1,117 @@
+package com.salon.booking.service;
+
+import com.salon.booking.event.BookingEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "salon.sse.dispatch-queue-capacity=200000",
+        "salon.sse.stream-queue-capacity=200000",
+        "salon.sse.write-timeout-ms=500",
+        "salon.sse.stall-check-ms=100"
+})
+@ActiveProfiles("h2")
+class BookingEventStreamTest {
+
+    private static final long SLOW_STYLIST = 1;
+    private static final long FAST_STYLIST = 2;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookingEventStream eventStream;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void clientThatStopsReadingDoesNotHoldUpOtherStreams() throws Exception {
+        BlockingQueue<String> fastLines = new LinkedBlockingQueue<>();
+        URI fastStream = URI.create("http://localhost:" + port + "/api/stylist/" + FAST_STYLIST + "/events");
+        HttpClient.newHttpClient()
+                .sendAsync(HttpRequest.newBuilder(fastStream).header("Accept", "text/event-stream").build(),
+                        HttpResponse.BodyHandlers.ofLines())
+                .thenAccept(response -> response.body().forEach(fastLines::add));
+
+        try (Socket slowClient = new Socket()) {
+            slowClient.setReceiveBufferSize(1024);
+            slowClient.connect(new InetSocketAddress("localhost", port));
+            OutputStream request = slowClient.getOutputStream();
+            request.write(("GET /api/stylist/" + SLOW_STYLIST + "/events HTTP/1.1\r\nHost: localhost\r\n"
+                    + "Accept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            request.flush();
+            awaitStylistStreams(2);
+
+            // Far more than the socket buffers hold, so writes to the slow client block
+            long id = 1;
+            for (; id <= 100_000; id++) {
+                eventStream.onBookingEvent(deleted(id, SLOW_STYLIST));
+            }
+            eventStream.onBookingEvent(deleted(999_999L, FAST_STYLIST));
+            // Until the slow stream is closed, so its backlog is not empty when that happens
+            while (streams() == 2 && id < 1_000_000) {
+                eventStream.onBookingEvent(deleted(id++, SLOW_STYLIST));
+                if (id % 1000 == 0) {
+                    Thread.sleep(5);
+                }
+            }
+
+            String delivered = null;
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (delivered == null && System.currentTimeMillis() < deadline) {
+                String line = fastLines.poll(100, TimeUnit.MILLISECONDS);
+                if (line != null && line.contains("999999")) {
+                    delivered = line;
+                }
+            }
+            assertNotNull(delivered, "Event for the other stylist was held up by the slow client");
+
+            awaitStylistStreams(1);
+            assertEquals(1.0, meterRegistry.get("salon.sse.streams.stalled").counter().count());
+            assertTrue(meterRegistry.get("salon.sse.events.dropped").tag("reason", "write_timeout")
+                    .counter().count() > 0);
+            // The drain tasks ran on the writer pool, which is visible next to the other executors
+            assertTrue(meterRegistry.get("executor.completed").tag("name", "sseWrite")
+                    .functionCounter().count() > 0);
+        }
+    }
+
+    private void awaitStylistStreams(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (streams() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(expected, streams());
+    }
+
+    private int streams() {
+        return (int) meterRegistry.get("salon.sse.streams").tag("role", "stylist").gauge().value();
+    }
+
+    private static BookingEvent deleted(long bookingId, long stylistId) {
+        return new BookingEvent(BookingEvent.Type.DELETED, bookingId, 100L, stylistId,
+                LocalDateTime.now(), 60, null, null);
+    }
+}
@@ -0,0 +1,65 @@
+package com.salon.booking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofMinutes(1));
+
+        breaker.recordFailure();
+        assertTrue(breaker.allowsRequests());
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowsRequests());
+        assertFalse(breaker.tryStartTrial());
+    }
+
+    @Test
+    void halfOpenAdmitsOneTrialAtATime() {
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofMillis(200));
+        breaker.recordFailure();
+        sleepPastOpenDuration();
+
+        assertTrue(breaker.tryStartTrial());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryStartTrial());
+
+        breaker.abandonTrial();
+        assertTrue(breaker.tryStartTrial());
+
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.allowsRequests());
+    }
+
+    @Test
+    void failedTrialOpensAgain() {
+        CircuitBreaker breaker = new CircuitBreaker(5, Duration.ofMillis(200));
+        for (int i = 0; i < 5; i++) {
+            breaker.recordFailure();
+        }
+        sleepPastOpenDuration();
+
+        assertTrue(breaker.tryStartTrial());
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private static void sleepPastOpenDuration() {
+        try {
+            Thread.sleep(250);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.salon.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "salon.dashboard.timeout-ms=500")
+@ActiveProfiles("h2")
+class DashboardServiceTest {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @MockBean
+    private DashboardStatsService dashboardStatsService;
+
+    @Test
+    void partStillRunningAtTheDeadlineIsInterrupted() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(dashboardStatsService.getStats()).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(30_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return Map.of();
+        });
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> dashboardService.getAdminDashboard());
+
+        assertTrue(e.getMessage().contains("500 ms"), e.getMessage());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "Stats part kept running after the deadline");
+    }
+}
@@ -0,0 +1,121 @@
+package com.salon.booking.service;
+
+import com.salon.booking.entity.EmailOutbox;
+import com.salon.booking.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("h2")
+class EmailOutboxDispatcherTest {
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private FakeMailSender mailSender;
+
+    @Autowired
+    @Qualifier("emailDeliveryExecutor")
+    private ThreadPoolExecutor deliveryExecutor;
+
+    @BeforeEach
+    void clear() {
+        outboxRepository.deleteAll();
+        mailSender.clear();
+    }
+
+    @Test
+    void deliversDueMessagesThroughTheMailSender() throws InterruptedException {
+        EmailOutbox email = outboxRepository.save(new EmailOutbox("stylist@salon.local", "New booking", "Body"));
+
+        dispatcher.dispatchDue();
+
+        EmailOutbox sent = awaitStatus(email.getId(), EmailOutbox.Status.SENT);
+        assertEquals(1, sent.getAttempts());
+        assertNull(sent.getClaimedAt());
+        assertEquals(1, mailSender.getSentMessages().size());
+    }
+
+    @Test
+    void outcomeOfALostClaimDoesNotOverwriteTheNewClaim() {
+        EmailOutbox email = outboxRepository.save(new EmailOutbox("stylist@salon.local", "New booking", "Body"));
+        LocalDateTime firstClaim = LocalDateTime.now().minusMinutes(10).truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime secondClaim = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        // The first worker stalls, its claim goes stale and a second worker claims the message
+        assertEquals(1, outboxRepository.claim(email.getId(), firstClaim));
+        assertEquals(1, outboxRepository.releaseStaleClaims(firstClaim.plusMinutes(5)));
+        assertEquals(1, outboxRepository.claim(email.getId(), secondClaim));
+
+        assertEquals(0, outboxRepository.finish(email.getId(), firstClaim, EmailOutbox.Status.SENT, 1,
+                email.getNextAttemptAt(), null, LocalDateTime.now()));
+        EmailOutbox current = outboxRepository.findById(email.getId()).orElseThrow();
+        assertEquals(EmailOutbox.Status.SENDING, current.getStatus());
+        assertEquals(secondClaim, current.getClaimedAt());
+
+        assertEquals(1, outboxRepository.finish(email.getId(), secondClaim, EmailOutbox.Status.SENT, 1,
+                email.getNextAttemptAt(), null, LocalDateTime.now()));
+        assertEquals(EmailOutbox.Status.SENT, outboxRepository.findById(email.getId()).orElseThrow().getStatus());
+    }
+
+    // Stops the dispatcher, so the context is not reused
+    @Test
+    @DirtiesContext
+    void stopReleasesDeliveriesThatNeverStartedAndQueuesNothingNew() {
+        // Every worker is busy until shutdown interrupts it, so the delivery below stays queued
+        CountDownLatch never = new CountDownLatch(1);
+        for (int i = 0; i < deliveryExecutor.getMaximumPoolSize(); i++) {
+            deliveryExecutor.execute(() -> {
+                try {
+                    never.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        EmailOutbox queued = outboxRepository.save(new EmailOutbox("stylist@salon.local", "New booking", "Body"));
+        dispatcher.dispatchDue();
+        assertEquals(EmailOutbox.Status.SENDING, outboxRepository.findById(queued.getId()).orElseThrow().getStatus());
+
+        ReflectionTestUtils.setField(dispatcher, "shutdownTimeoutMillis", 200L);
+        dispatcher.stop();
+
+        EmailOutbox released = outboxRepository.findById(queued.getId()).orElseThrow();
+        assertEquals(EmailOutbox.Status.PENDING, released.getStatus());
+        assertNull(released.getClaimedAt());
+        dispatcher.dispatchDue();
+        assertEquals(EmailOutbox.Status.PENDING, outboxRepository.findById(queued.getId()).orElseThrow().getStatus());
+        assertTrue(mailSender.getSentMessages().isEmpty());
+    }
+
+    private EmailOutbox awaitStatus(Long id, EmailOutbox.Status status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            EmailOutbox email = outboxRepository.findById(id).orElseThrow();
+            if (email.getStatus() == status || System.currentTimeMillis() > deadline) {
+                assertTrue(email.getStatus() == status, "Expected " + status + " but was " + email.getStatus());
+                return email;
+            }
+            Thread.sleep(20);
+        }
+    }
+}
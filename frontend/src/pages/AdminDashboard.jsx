@@ -10,6 +10,8 @@ const AdminDashboard = () => {
   const [customers, setCustomers] = useState([]);
   const [bookings, setBookings] = useState([]);
   const [feedback, setFeedback] = useState([]);
+  const [bookingsCursor, setBookingsCursor] = useState(null);
+  const [feedbackCursor, setFeedbackCursor] = useState(null);
   const [editingStylist, setEditingStylist] = useState(null);
   const [loading, setLoading] = useState(true);
   const [saving, setSaving] = useState(false);
@@ -22,19 +24,15 @@ const AdminDashboard = () => {
 
   const fetchData = async () => {
     try {
-      const [statsRes, stylistsRes, customersRes, bookingsRes, feedbackRes] = await Promise.all([
-        adminAPI.getDashboardStats(),
-        adminAPI.getStylists(),
-        adminAPI.getCustomers(),
-        adminAPI.getBookings(),
-        adminAPI.getFeedback()
-      ]);
+      const { data } = await adminAPI.getDashboard();
 
-      setStats(statsRes.data);
-      setStylists(stylistsRes.data);
-      setCustomers(customersRes.data);
-      setBookings(bookingsRes.data);
-      setFeedback(feedbackRes.data);
+      setStats(data.stats);
+      setStylists(data.stylists);
+      setCustomers(data.customers);
+      setBookings(data.bookings.items);
+      setBookingsCursor(data.bookings.nextCursor);
+      setFeedback(data.feedback.items);
+      setFeedbackCursor(data.feedback.nextCursor);
     } catch (error) {
       console.error('Error fetching data:', error);
       setMessage('Error loading dashboard data');
@@ -79,6 +77,26 @@ const AdminDashboard = () => {
     }
   };
 
+  const loadMoreBookings = async () => {
+    try {
+      const response = await adminAPI.getBookings({ cursor: bookingsCursor });
+      setBookings(prev => [...prev, ...response.data.items]);
+      setBookingsCursor(response.data.nextCursor);
+    } catch (error) {
+      setMessage(error.response?.data?.error || 'Error loading bookings');
+    }
+  };
+
+  const loadMoreFeedback = async () => {
+    try {
+      const response = await adminAPI.getFeedback({ cursor: feedbackCursor });
+      setFeedback(prev => [...prev, ...response.data.items]);
+      setFeedbackCursor(response.data.nextCursor);
+    } catch (error) {
+      setMessage(error.response?.data?.error || 'Error loading feedback');
+    }
+  };
+
   const handleFeedbackDelete = async (feedbackId) => {
     if (!window.confirm('Are you sure you want to delete this feedback?')) {
       return;
@@ -461,6 +479,11 @@ const AdminDashboard = () => {
                   </table>
                 </div>
               )}
+              {bookingsCursor && (
+                <div className="text-center mt-4">
+                  <button onClick={loadMoreBookings} className="btn-secondary">Load more</button>
+                </div>
+              )}
             </div>
           )}
 
@@ -499,6 +522,11 @@ const AdminDashboard = () => {
                   ))}
                 </div>
               )}
+              {feedbackCursor && (
+                <div className="text-center mt-4">
+                  <button onClick={loadMoreFeedback} className="btn-secondary">Load more</button>
+                </div>
+              )}
             </div>
           )}
         </div>
@@ -2,21 +2,30 @@ import React, { useState, useEffect } from 'react';
 import { customerAPI } from '../services/api';
 import { useAuth } from '../utils/AuthContext';
 import Navbar from '../components/Navbar';
+import { useBookingEvents, applyBookingUpdate } from '../utils/useBookingEvents';
 
 const BookingHistory = () => {
   const { user } = useAuth();
   const [bookings, setBookings] = useState([]);
   const [loading, setLoading] = useState(true);
   const [filter, setFilter] = useState('ALL');
+  const [nextCursor, setNextCursor] = useState(null);
 
   useEffect(() => {
     fetchBookingHistory();
-  }, []);
+  }, [filter]);
 
-  const fetchBookingHistory = async () => {
+  useBookingEvents('customer', user.id, (update) => {
+    setBookings((prev) => applyBookingUpdate(prev, update, (b) => filter === 'ALL' || b.status === filter));
+  }, () => fetchBookingHistory());
+
+  // Pages are filtered by status on the server; a cursor appends the next page
+  const fetchBookingHistory = async (cursor = null) => {
     try {
-      const response = await customerAPI.getBookingHistory(user.id);
-      setBookings(response.data);
+      const status = filter === 'ALL' ? undefined : filter;
+      const response = await customerAPI.getBookingHistory(user.id, { status, cursor });
+      setBookings(prev => (cursor ? [...prev, ...response.data.items] : response.data.items));
+      setNextCursor(response.data.nextCursor);
     } catch (error) {
       console.error('Error fetching booking history:', error);
     } finally {
@@ -161,6 +170,13 @@ const BookingHistory = () => {
               </table>
             </div>
           )}
+          {nextCursor && (
+            <div className="text-center py-4">
+              <button onClick={() => fetchBookingHistory(nextCursor)} className="btn-secondary">
+                Load more
+              </button>
+            </div>
+          )}
         </div>
       </div>
     </div>
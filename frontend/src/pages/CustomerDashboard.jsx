@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { customerAPI } from '../services/api';
 import { useAuth } from '../utils/AuthContext';
 import Navbar from '../components/Navbar';
+import { useBookingEvents, applyBookingUpdate } from '../utils/useBookingEvents';
 import NotificationBanner from '../components/NotificationBanner';
 
 const CustomerDashboard = () => {
@@ -24,18 +25,19 @@ const CustomerDashboard = () => {
     fetchData();
   }, []);
 
+  // New bookings and stylist decisions arrive as events
+  useBookingEvents('customer', user.id, (update) => {
+    setRecentBookings((prev) => applyBookingUpdate(prev, update).slice(0, 5));
+  }, () => fetchData());
+
   const fetchData = async () => {
     try {
-      const [stylistsRes, servicesRes, bookingsRes] = await Promise.all([
-        customerAPI.getStylists(),
-        customerAPI.getServices(),
-        customerAPI.getBookings(user.id)
-      ]);
+      const { data } = await customerAPI.getDashboard(user.id);
 
       // Handle successful responses
-      setStylists(stylistsRes.data || []);
-      setServices(servicesRes.data || []);
-      setRecentBookings((bookingsRes.data || []).slice(0, 5)); // Show last 5 bookings
+      setStylists(data.stylists || []);
+      setServices(data.services || []);
+      setRecentBookings((data.bookings || []).slice(0, 5)); // Show last 5 bookings
       setMessage(''); // Clear any previous error messages
     } catch (error) {
       console.error('Error fetching data:', error);
@@ -76,7 +78,6 @@ const CustomerDashboard = () => {
         notes: ''
       });
       setSelectedStylist(null);
-      fetchData(); // Refresh recent bookings
     } catch (error) {
       setMessage(error.response?.data?.error || 'Error creating booking');
     } finally {
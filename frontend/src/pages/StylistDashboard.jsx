@@ -2,13 +2,17 @@ import React, { useState, useEffect } from 'react';
 import { stylistAPI } from '../services/api';
 import { useAuth } from '../utils/AuthContext';
 import Navbar from '../components/Navbar';
+import { useBookingEvents, applyBookingUpdate } from '../utils/useBookingEvents';
 
 const StylistDashboard = () => {
   const { user } = useAuth();
   const [pendingBookings, setPendingBookings] = useState([]);
   const [allBookings, setAllBookings] = useState([]);
+  const [bookingsCursor, setBookingsCursor] = useState(null);
   const [services, setServices] = useState([]);
   const [customers, setCustomers] = useState([]);
+  const [customerPage, setCustomerPage] = useState({ page: 0, totalPages: 0, totalElements: 0 });
+  const [customerSort, setCustomerSort] = useState({ sort: 'LAST_BOOKING', direction: 'DESC' });
   const [feedback, setFeedback] = useState([]);
   const [loading, setLoading] = useState(true);
   const [activeTab, setActiveTab] = useState('pending');
@@ -18,21 +22,26 @@ const StylistDashboard = () => {
     fetchData();
   }, []);
 
+  // Bookings are kept current by the event stream instead of refetching the lists
+  useBookingEvents('stylist', user.id, (update) => {
+    setAllBookings((prev) => applyBookingUpdate(prev, update));
+    setPendingBookings((prev) => applyBookingUpdate(prev, update, (b) => b.status === 'PENDING'));
+    if (update.booking && !customers.some((c) => c.id === update.booking.customer.id)) {
+      fetchCustomers(customerPage.page, customerSort);
+    }
+  }, () => fetchData());
+
   const fetchData = async () => {
     try {
-      const [pendingRes, bookingsRes, servicesRes, customersRes, feedbackRes] = await Promise.all([
-        stylistAPI.getPendingBookings(user.id),
-        stylistAPI.getBookings(user.id),
-        stylistAPI.getServices(user.id),
-        stylistAPI.getCustomers(user.id),
-        stylistAPI.getFeedback(user.id)
-      ]);
+      const { data } = await stylistAPI.getDashboard(user.id);
 
-      setPendingBookings(pendingRes.data || []);
-      setAllBookings(bookingsRes.data || []);
-      setServices(servicesRes.data || []);
-      setCustomers(customersRes.data || []);
-      setFeedback(feedbackRes.data || []);
+      setPendingBookings(data.pendingBookings || []);
+      setAllBookings(data.bookings?.items || []);
+      setBookingsCursor(data.bookings?.nextCursor || null);
+      setServices(data.services || []);
+      setCustomerPage(data.customers);
+      setCustomers(data.customers?.results || []);
+      setFeedback(data.feedback || []);
       setMessage(''); // Clear any previous error messages
     } catch (error) {
       console.error('Error fetching data:', error);
@@ -40,6 +49,7 @@ const StylistDashboard = () => {
       // Set default empty arrays to prevent crashes
       setPendingBookings([]);
       setAllBookings([]);
+      setBookingsCursor(null);
       setServices([]);
       setCustomers([]);
       setFeedback([]);
@@ -57,16 +67,51 @@ const StylistDashboard = () => {
     }
   };
 
+  // One sorted page of the customers list (aggregated server-side)
+  const fetchCustomers = async (page, sortBy) => {
+    try {
+      const response = await stylistAPI.getCustomers(user.id, { ...sortBy, page, size: 20 });
+      setCustomerPage(response.data);
+      setCustomers(response.data.results);
+      setCustomerSort(sortBy);
+    } catch (error) {
+      setMessage(error.response?.data?.error || 'Error loading customers');
+    }
+  };
+
+  // Older bookings, page by page; ones the event stream already added are not repeated
+  const loadMoreBookings = async () => {
+    try {
+      const response = await stylistAPI.getBookings(user.id, { cursor: bookingsCursor });
+      setAllBookings(prev => [...prev, ...response.data.items.filter(b => !prev.some(p => p.id === b.id))]);
+      setBookingsCursor(response.data.nextCursor);
+    } catch (error) {
+      setMessage(error.response?.data?.error || 'Error loading bookings');
+    }
+  };
+
   const handleBookingStatusUpdate = async (bookingId, status) => {
     try {
       await stylistAPI.updateBookingStatus(bookingId, status);
       setMessage(`Booking ${status.toLowerCase()} successfully!`);
-      fetchData(); // Refresh data
     } catch (error) {
+      // On a 409 the booking moved on elsewhere; its current status arrives as an event
       setMessage(error.response?.data?.error || 'Error updating booking status');
     }
   };
 
+  const handleBulkStatusUpdate = async (status) => {
+    try {
+      const changes = pendingBookings.map((booking) => ({ bookingId: booking.id, status }));
+      const response = await stylistAPI.updateBookingStatuses(changes);
+      const skipped = changes.length - response.data.updated;
+      setMessage(`${response.data.updated} booking(s) ${status.toLowerCase()}` +
+        (skipped > 0 ? `, ${skipped} could not be updated` : ''));
+    } catch (error) {
+      setMessage(error.response?.data?.error || 'Error updating booking statuses');
+    }
+  };
+
   const formatDateTime = (dateTimeString) => {
     return new Date(dateTimeString).toLocaleString();
   };
@@ -156,7 +201,7 @@ const StylistDashboard = () => {
             {[
               { id: 'pending', label: 'Pending Bookings', count: pendingBookings.length },
               { id: 'all', label: 'All Bookings', count: allBookings.length },
-              { id: 'customers', label: 'Customers', count: customers.length },
+              { id: 'customers', label: 'Customers', count: customerPage.totalElements },
               { id: 'feedback', label: 'Feedback', count: feedback.length }
             ].map((tab) => (
               <button
@@ -178,7 +223,25 @@ const StylistDashboard = () => {
         <div className="card">
           {activeTab === 'pending' && (
             <div>
-              <h2 className="text-xl font-semibold text-gray-900 mb-6">Pending Booking Requests</h2>
+              <div className="flex justify-between items-center mb-6">
+                <h2 className="text-xl font-semibold text-gray-900">Pending Booking Requests</h2>
+                {pendingBookings.length > 1 && (
+                  <div className="flex space-x-2">
+                    <button
+                      onClick={() => handleBulkStatusUpdate('CONFIRMED')}
+                      className="bg-green-600 hover:bg-green-700 text-white px-4 py-2 rounded-md text-sm"
+                    >
+                      Accept all
+                    </button>
+                    <button
+                      onClick={() => handleBulkStatusUpdate('REJECTED')}
+                      className="bg-red-600 hover:bg-red-700 text-white px-4 py-2 rounded-md text-sm"
+                    >
+                      Reject all
+                    </button>
+                  </div>
+                )}
+              </div>
               {pendingBookings.length === 0 ? (
                 <p className="text-gray-500 text-center py-8">No pending bookings</p>
               ) : (
@@ -283,12 +346,33 @@ const StylistDashboard = () => {
                   </table>
                 </div>
               )}
+              {bookingsCursor && (
+                <div className="text-center mt-4">
+                  <button onClick={loadMoreBookings} className="btn-secondary">Load more</button>
+                </div>
+              )}
             </div>
           )}
 
           {activeTab === 'customers' && (
             <div>
-              <h2 className="text-xl font-semibold text-gray-900 mb-6">Your Customers</h2>
+              <div className="flex justify-between items-center mb-6">
+                <h2 className="text-xl font-semibold text-gray-900">Your Customers</h2>
+                <select
+                  value={`${customerSort.sort}:${customerSort.direction}`}
+                  onChange={(e) => {
+                    const [sort, direction] = e.target.value.split(':');
+                    fetchCustomers(0, { sort, direction });
+                  }}
+                  className="border border-gray-300 rounded-md px-3 py-1 text-sm"
+                >
+                  <option value="LAST_BOOKING:DESC">Most recent booking</option>
+                  <option value="LAST_VISIT:DESC">Most recent visit</option>
+                  <option value="VISITS:DESC">Most visits</option>
+                  <option value="TOTAL_SPEND:DESC">Highest spend</option>
+                  <option value="NAME:ASC">Name</option>
+                </select>
+              </div>
               {customers.length === 0 ? (
                 <p className="text-gray-500 text-center py-8">No customers yet</p>
               ) : (
@@ -298,12 +382,36 @@ const StylistDashboard = () => {
                       <h4 className="font-medium text-gray-900">{customer.name}</h4>
                       <p className="text-sm text-gray-600">{customer.email}</p>
                       <p className="text-sm text-gray-500 mt-2">
-                        Bookings: {allBookings.filter(b => b.customer.id === customer.id).length}
+                        Bookings: {customer.bookings} · Visits: {customer.visits} · Spend: ${customer.totalSpend}
                       </p>
+                      {customer.lastVisitAt && (
+                        <p className="text-sm text-gray-500">Last visit: {formatDateTime(customer.lastVisitAt)}</p>
+                      )}
                     </div>
                   ))}
                 </div>
               )}
+              {customerPage.totalPages > 1 && (
+                <div className="flex justify-center items-center space-x-4 mt-6">
+                  <button
+                    onClick={() => fetchCustomers(customerPage.page - 1, customerSort)}
+                    disabled={customerPage.page === 0}
+                    className="px-3 py-1 border border-gray-300 rounded-md text-sm disabled:opacity-50"
+                  >
+                    Previous
+                  </button>
+                  <span className="text-sm text-gray-600">
+                    Page {customerPage.page + 1} of {customerPage.totalPages}
+                  </span>
+                  <button
+                    onClick={() => fetchCustomers(customerPage.page + 1, customerSort)}
+                    disabled={customerPage.page + 1 >= customerPage.totalPages}
+                    className="px-3 py-1 border border-gray-300 rounded-md text-sm disabled:opacity-50"
+                  >
+                    Next
+                  </button>
+                </div>
+              )}
             </div>
           )}
 
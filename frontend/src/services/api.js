@@ -3,30 +3,40 @@ import axios from 'axios';
 // Use direct backend URL for consistent communication
 const API_BASE_URL = 'http://localhost:8080/api';
 
-const api = axios.create({
-  baseURL: API_BASE_URL,
-  headers: {
-    'Content-Type': 'application/json',
-  },
-  timeout: 30000, // Increase to 30 seconds for slower operations
-});
+// Catalog, booking-history and rating reads can go to the reactive read server
+// (salon.reactive.enabled, port 8081) by setting VITE_READ_API_URL=http://localhost:8081/api
+const READ_API_BASE_URL = import.meta.env.VITE_READ_API_URL || API_BASE_URL;
 
-// Add response interceptor to handle errors
-api.interceptors.response.use(
-  (response) => response,
-  (error) => {
-    if (error.code === 'ECONNABORTED') {
-      console.error('Request timeout - server took too long to respond');
-      error.message = 'Request timeout. The server is taking too long to respond.';
-    } else if (error.response) {
-      console.error('Response error:', error.response.status, error.response.data);
-    } else if (error.request) {
-      console.error('Network error - no response received:', error.message);
-      error.message = 'Network error. Please check your connection.';
+const createClient = (baseURL) => {
+  const client = axios.create({
+    baseURL,
+    headers: {
+      'Content-Type': 'application/json',
+    },
+    timeout: 30000, // Increase to 30 seconds for slower operations
+  });
+
+  // Add response interceptor to handle errors
+  client.interceptors.response.use(
+    (response) => response,
+    (error) => {
+      if (error.code === 'ECONNABORTED') {
+        console.error('Request timeout - server took too long to respond');
+        error.message = 'Request timeout. The server is taking too long to respond.';
+      } else if (error.response) {
+        console.error('Response error:', error.response.status, error.response.data);
+      } else if (error.request) {
+        console.error('Network error - no response received:', error.message);
+        error.message = 'Network error. Please check your connection.';
+      }
+      return Promise.reject(error);
     }
-    return Promise.reject(error);
-  }
-);
+  );
+  return client;
+};
+
+const api = createClient(API_BASE_URL);
+const readApi = READ_API_BASE_URL === API_BASE_URL ? api : createClient(READ_API_BASE_URL);
 
 // Retry function for critical API calls
 const retryRequest = async (apiCall, maxRetries = 2) => {
@@ -51,28 +61,38 @@ export const authAPI = {
 
 // Customer API
 export const customerAPI = {
-  getStylists: () => retryRequest(() => api.get('/customer/stylists')),
-  getServices: () => retryRequest(() => api.get('/customer/services').catch(error => {
+  getStylists: () => retryRequest(() => readApi.get('/customer/stylists')),
+  getServices: () => retryRequest(() => readApi.get('/customer/services').catch(error => {
     console.error('Error fetching services:', error);
     if (error.message.includes('ERR_INCOMPLETE_CHUNKED_ENCODING') || error.message.includes('Network Error')) {
       throw new Error('Server response error. Please refresh and try again.');
     }
     throw error;
   })),
-  getServicesByStylist: (stylistId) => retryRequest(() => api.get(`/customer/services/stylist/${stylistId}`)),
+  getServicesByStylist: (stylistId) => retryRequest(() => readApi.get(`/customer/services/stylist/${stylistId}`)),
+  searchServices: (q, page = 0, size = 20) => api.get('/customer/services/search', { params: { q, page, size } }),
+  getStylistAvailability: (stylistId, serviceId, from, to) =>
+    api.get(`/customer/stylists/${stylistId}/availability`, { params: { serviceId, from, to } }),
+  getEarliestSlots: (params) => api.get('/customer/availability/earliest', { params }),
   createBooking: (customerId, bookingData) => api.post(`/customer/bookings/${customerId}`, bookingData),
-  getBookings: (customerId) => retryRequest(() => api.get(`/customer/bookings/${customerId}`)),
-  getBookingHistory: (customerId) => retryRequest(() => api.get(`/customer/bookings/history/${customerId}`)),
+  createBookings: (customerId, bookings) => api.post(`/customer/bookings/${customerId}/bulk`, bookings),
+  getBookings: (customerId) => retryRequest(() => readApi.get(`/customer/bookings/${customerId}`)),
+  // Keyset-paginated: params { status, cursor, limit }; responses are { items, nextCursor }
+  getBookingHistory: (customerId, params) => retryRequest(() => readApi.get(`/customer/bookings/history/${customerId}`, { params })),
   createFeedback: (customerId, feedbackData) => api.post(`/customer/feedback/${customerId}`, feedbackData),
   getFeedback: (customerId) => api.get(`/customer/feedback/${customerId}`),
-  getStylistRating: (stylistId) => api.get(`/customer/stylist/${stylistId}/rating`),
+  getStylistRating: (stylistId) => readApi.get(`/customer/stylist/${stylistId}/rating`),
+  // { profile, stylists, services, bookings } in one round trip
+  getDashboard: (customerId) => retryRequest(() => api.get(`/customer/${customerId}/dashboard`)),
+  getStylistRatings: (stylistIds) => api.get('/customer/stylists/ratings', { params: { ids: stylistIds.join(',') } }),
 };
 
 // Stylist API
 export const stylistAPI = {
-  getBookings: (stylistId) => retryRequest(() => api.get(`/stylist/bookings/${stylistId}`)),
+  getBookings: (stylistId, params) => retryRequest(() => api.get(`/stylist/bookings/${stylistId}`, { params })),
   getPendingBookings: (stylistId) => retryRequest(() => api.get(`/stylist/bookings/pending/${stylistId}`)),
   updateBookingStatus: (bookingId, status) => api.put(`/stylist/bookings/${bookingId}/status`, { status }),
+  updateBookingStatuses: (changes) => api.put('/stylist/bookings/status', changes),
   getServices: (stylistId) => retryRequest(() => api.get(`/stylist/services/${stylistId}`)),
   createService: (stylistId, serviceData) => api.post(`/stylist/services/${stylistId}`, serviceData),
   updateService: (serviceId, serviceData) => api.put(`/stylist/services/${serviceId}`, serviceData),
@@ -80,22 +100,32 @@ export const stylistAPI = {
   getProfile: (stylistId) => retryRequest(() => api.get(`/stylist/profile/${stylistId}`)),
   updateProfile: (stylistId, profileData) => api.put(`/stylist/profile/${stylistId}`, profileData),
   getFeedback: (stylistId) => retryRequest(() => api.get(`/stylist/feedback/${stylistId}`)),
-  getCustomers: (stylistId) => retryRequest(() => api.get(`/stylist/customers/${stylistId}`)),
+  // Paged: params { sort, direction, page, size }; responses are { results, page, size, totalElements, totalPages }
+  getCustomers: (stylistId, params) => retryRequest(() => api.get(`/stylist/customers/${stylistId}`, { params })),
+  // { profile, pendingBookings, bookings, services, customers, feedback } in one round trip
+  getDashboard: (stylistId) => retryRequest(() => api.get(`/stylist/${stylistId}/dashboard`)),
 };
 
+// Server-sent booking events for a stylist or customer ('stylist' | 'customer').
+// Each "booking" event carries { type, bookingId, previousStatus, status, booking }.
+export const openBookingEvents = (role, userId) =>
+  new EventSource(`${API_BASE_URL}/${role}/${userId}/events`);
+
 // Admin API
 export const adminAPI = {
   getStylists: () => api.get('/admin/stylists'),
   getCustomers: () => api.get('/admin/customers'),
-  getAllUsers: () => api.get('/admin/users'),
+  getAllUsers: (params) => api.get('/admin/users', { params }),
   getStylist: (stylistId) => api.get(`/admin/stylists/${stylistId}`),
   updateStylist: (stylistId, stylistData) => api.put(`/admin/stylists/${stylistId}`, stylistData),
   deleteStylist: (stylistId) => api.delete(`/admin/stylists/${stylistId}`),
-  getBookings: () => api.get('/admin/bookings'),
+  getBookings: (params) => api.get('/admin/bookings', { params }),
   getBooking: (bookingId) => api.get(`/admin/bookings/${bookingId}`),
-  getFeedback: () => api.get('/admin/feedback'),
+  getFeedback: (params) => api.get('/admin/feedback', { params }),
   deleteFeedback: (feedbackId) => api.delete(`/admin/feedback/${feedbackId}`),
   getDashboardStats: () => api.get('/admin/dashboard/stats'),
+  // { stats, stylists, customers, bookings, feedback } in one round trip
+  getDashboard: () => api.get('/admin/dashboard'),
 };
 
 export default api;
\ No newline at end of file
@@ -0,0 +1,35 @@
+import { useEffect, useRef } from 'react';
+import { openBookingEvents } from '../services/api';
+
+// Subscribes to booking events for the signed-in user. onUpdate gets each parsed event;
+// onResync runs after a dropped stream reconnects, since events sent meanwhile are lost.
+export const useBookingEvents = (role, userId, onUpdate, onResync) => {
+  const handlers = useRef({ onUpdate, onResync });
+  handlers.current = { onUpdate, onResync };
+
+  useEffect(() => {
+    if (!userId) return undefined;
+    const source = openBookingEvents(role, userId);
+    let connectedBefore = false;
+
+    source.addEventListener('booking', (event) => handlers.current.onUpdate(JSON.parse(event.data)));
+    source.onopen = () => {
+      if (connectedBefore && handlers.current.onResync) {
+        handlers.current.onResync();
+      }
+      connectedBefore = true;
+    };
+    return () => source.close();
+  }, [role, userId]);
+};
+
+// Returns the list with the update applied: the booking is replaced, added or dropped
+// (when deleted or when it no longer passes the filter), newest appointment first
+export const applyBookingUpdate = (bookings, update, keep = () => true) => {
+  const others = bookings.filter((b) => b.id !== update.bookingId);
+  if (!update.booking || !keep(update.booking)) {
+    return others;
+  }
+  return [...others, update.booking].sort((a, b) =>
+    new Date(b.bookingDateTime) - new Date(a.bookingDateTime) || b.id - a.id);
+};